@@ -0,0 +1,190 @@
+package com.takehome.coderhack.loadtest;
+
+import static io.gatling.javaapi.core.CoreDsl.*;
+import static io.gatling.javaapi.http.HttpDsl.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.takehome.coderhack.CoderhackApplication;
+import com.takehome.coderhack.dtos.ScoreUpdateDTO;
+import com.takehome.coderhack.dtos.UserDTO;
+import com.takehome.coderhack.services.UserService;
+
+import io.gatling.javaapi.core.Assertion;
+import io.gatling.javaapi.core.ScenarioBuilder;
+import io.gatling.javaapi.core.Simulation;
+import io.gatling.javaapi.http.HttpProtocolBuilder;
+
+/**
+ * Drives a mix of registrations, score updates, profile reads and leaderboard reads at fixed
+ * arrival rates, then checks the failure rate and each request's p95/p99 against
+ * {@code baseline.json}. Latency budgets only apply once they have been recorded from a reference
+ * run with the same seed size and duration.
+ *
+ * <p>Unless {@code loadtest.baseUrl} points at a running instance, the application is booted
+ * in-process with the {@code embedded} profile, so no Mongo is needed. Rate limiting is turned
+ * off there, since all traffic comes from one client.
+ */
+public class LeaderboardSimulation extends Simulation {
+
+    private static final String BASE_URL = System.getProperty("loadtest.baseUrl");
+    private static final int PORT = Integer.getInteger("loadtest.port", 18080);
+    private static final int SEED_USERS = Integer.getInteger("loadtest.seedUsers", 100_000);
+    private static final Duration DURATION = Duration.ofSeconds(Integer.getInteger("loadtest.durationSeconds", 60));
+
+    // Arrivals per second for each kind of traffic
+    private static final int REGISTER_RATE = Integer.getInteger("loadtest.registerRate", 20);
+    private static final int UPDATE_RATE = Integer.getInteger("loadtest.updateRate", 200);
+    private static final int PROFILE_RATE = Integer.getInteger("loadtest.profileRate", 300);
+    private static final int LEADERBOARD_RATE = Integer.getInteger("loadtest.leaderboardRate", 100);
+
+    private ConfigurableApplicationContext application;
+
+    {
+        AtomicLong registered = new AtomicLong();
+        Iterator<Map<String, Object>> newUsers = Stream.generate(
+                () -> Map.<String, Object>of("userId", "load-" + registered.incrementAndGet())).iterator();
+        Iterator<Map<String, Object>> existingUsers = Stream.generate(
+                () -> Map.<String, Object>of("userId", seedUserId(ThreadLocalRandom.current().nextInt(SEED_USERS)))).iterator();
+
+        ScenarioBuilder register = scenario("register").feed(newUsers)
+                .exec(http("register").post("/users")
+                        .body(StringBody("{\"userId\":\"#{userId}\",\"username\":\"Load #{userId}\"}")).asJson()
+                        .check(status().is(201)));
+
+        ScenarioBuilder updateScore = scenario("update score").feed(existingUsers)
+                .exec(http("update score").put("/users/#{userId}")
+                        .queryParam("score", session -> ThreadLocalRandom.current().nextInt(101))
+                        .check(status().is(200)));
+
+        ScenarioBuilder readProfile = scenario("profile read").feed(existingUsers)
+                .exec(http("profile read").get("/users/#{userId}").check(status().is(200)));
+
+        ScenarioBuilder leaderboard = scenario("leaderboard")
+                .exec(http("leaderboard page").get("/users/leaderboard").queryParam("size", 20).check(status().is(200)))
+                .exec(http("top users").get("/users/top").queryParam("n", 10).check(status().is(200)));
+
+        HttpProtocolBuilder protocol = http
+                .baseUrl(BASE_URL != null ? BASE_URL : "http://localhost:" + PORT)
+                .acceptHeader("application/json")
+                .shareConnections();
+
+        setUp(
+                register.injectOpen(constantUsersPerSec(REGISTER_RATE).during(DURATION)),
+                updateScore.injectOpen(constantUsersPerSec(UPDATE_RATE).during(DURATION)),
+                readProfile.injectOpen(constantUsersPerSec(PROFILE_RATE).during(DURATION)),
+                leaderboard.injectOpen(constantUsersPerSec(LEADERBOARD_RATE).during(DURATION)))
+                .protocols(protocol)
+                .assertions(baselineAssertions());
+    }
+
+    @Override
+    public void before() {
+        if (BASE_URL != null) {
+            return;
+        }
+        Path dataDir;
+        try {
+            dataDir = Files.createTempDirectory("coderhack-loadtest");
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        application = SpringApplication.run(CoderhackApplication.class,
+                "--spring.profiles.active=embedded",
+                "--server.port=" + PORT,
+                "--coderhack.embedded.data-dir=" + dataDir,
+                "--coderhack.rate-limit.enabled=false",
+                "--logging.level.root=WARN");
+        seed(application.getBean(UserService.class));
+    }
+
+    @Override
+    public void after() {
+        if (application != null) {
+            application.close();
+        }
+    }
+
+    private static void seed(UserService userService) {
+        List<UserDTO> users = new ArrayList<>(SEED_USERS);
+        for (int i = 0; i < SEED_USERS; i++) {
+            UserDTO user = new UserDTO();
+            user.setUserId(seedUserId(i));
+            user.setUsername("Seed " + i);
+            users.add(user);
+        }
+        userService.registerUsers(users);
+        userService.bulkUpdateScores(IntStream.range(0, SEED_USERS)
+                .mapToObj(i -> new ScoreUpdateDTO(seedUserId(i), ThreadLocalRandom.current().nextInt(101)))
+                .iterator());
+    }
+
+    private static String seedUserId(int i) {
+        return "seed-" + i;
+    }
+
+    // Each request's p95/p99 may exceed its recorded baseline by at most the configured tolerance
+    private static List<Assertion> baselineAssertions() {
+        Baseline baseline;
+        try {
+            baseline = new ObjectMapper().readValue(new File(System.getProperty("loadtest.baseline", "baseline.json")), Baseline.class);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+
+        List<Assertion> assertions = new ArrayList<>();
+        assertions.add(global().failedRequests().percent().lte(baseline.maxFailedPercent));
+        if (baseline.requests.isEmpty()) {
+            System.out.println("No latency budgets recorded in baseline.json; only the failure rate is checked");
+            return assertions;
+        }
+        if (!baseline.matches(SEED_USERS, DURATION)) {
+            System.out.println("Latency budgets were recorded with " + baseline.seedUsers + " users over "
+                    + baseline.durationSeconds + "s on " + baseline.hardware + "; not applying them to this run");
+            return assertions;
+        }
+        baseline.requests.forEach((name, budget) -> {
+            assertions.add(details(name).responseTime().percentile(95.0).lte((int) Math.ceil(budget.p95Ms * baseline.tolerance)));
+            assertions.add(details(name).responseTime().percentile(99.0).lte((int) Math.ceil(budget.p99Ms * baseline.tolerance)));
+        });
+        return assertions;
+    }
+
+    public static class Baseline {
+        // Where and when the budgets were measured; budgets are only comparable on similar hardware
+        public String recordedOn;
+        public String hardware;
+        public Integer seedUsers;
+        public Integer durationSeconds;
+        public double tolerance = 1.0;
+        public double maxFailedPercent;
+        public Map<String, Budget> requests = Map.of();
+
+        boolean matches(int seedUsers, Duration duration) {
+            return this.seedUsers != null && this.seedUsers == seedUsers
+                    && this.durationSeconds != null && this.durationSeconds == duration.toSeconds();
+        }
+    }
+
+    public static class Budget {
+        public int p95Ms;
+        public int p99Ms;
+    }
+}
@@ -0,0 +1,45 @@
+package com.takehome.coderhack.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.ResponseEntity;
+
+import com.takehome.coderhack.exceptions.GlobalExceptionHandler;
+import com.takehome.coderhack.exceptions.InvalidScoreException;
+import com.takehome.coderhack.exceptions.UserNotFoundException;
+
+/**
+ * Cost of the 404/400 paths: building the exception (including its stack trace) and mapping it
+ * to a response, as happens for every request for an unknown user or an out-of-range score.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ExceptionHandlerBenchmark {
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+
+    @Benchmark
+    public ResponseEntity<String> userNotFound() {
+        try {
+            throw new UserNotFoundException("Provided userId does not exist.");
+        } catch (UserNotFoundException ex) {
+            return handler.handleUserNotFound(ex);
+        }
+    }
+
+    @Benchmark
+    public ResponseEntity<String> invalidScore() {
+        try {
+            throw new InvalidScoreException("Provided score is invalid");
+        } catch (InvalidScoreException ex) {
+            return handler.handleInvalidScore(ex);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.takehome.coderhack.benchmarks;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import com.takehome.coderhack.dtos.LeaderboardCursor;
+import com.takehome.coderhack.dtos.LeaderboardEntry;
+import com.takehome.coderhack.entities.Badge;
+import com.takehome.coderhack.entities.User;
+import com.takehome.coderhack.repositories.UserStore;
+
+/**
+ * Map-backed stand-in for {@link UserStore} so benchmarks measure our code, not Mongo.
+ */
+public final class InMemoryUserRepository implements InvocationHandler {
+
+    private static final Comparator<User> LEADERBOARD_ORDER = Comparator.comparingInt(User::getScore).reversed()
+            .thenComparing(User::getUserId);
+
+    private final Map<String, User> users = new ConcurrentHashMap<>();
+
+    private InMemoryUserRepository() {
+    }
+
+    public static UserStore create() {
+        return (UserStore) Proxy.newProxyInstance(UserStore.class.getClassLoader(),
+                new Class<?>[] { UserStore.class }, new InMemoryUserRepository());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Object invoke(Object proxy, Method method, Object[] args) {
+        switch (method.getName()) {
+            case "findById":
+                return Optional.ofNullable(users.get((String) args[0]));
+            case "insert": {
+                User user = (User) args[0];
+                users.put(user.getUserId(), user);
+                return user;
+            }
+            case "deleteById":
+                users.remove((String) args[0]);
+                return null;
+            case "updateScore":
+                return Optional.ofNullable(users.computeIfPresent((String) args[0], (id, user) -> {
+                    user.setScore((Integer) args[1]);
+                    user.setBadges(Badge.forScore((Integer) args[1]));
+                    return user;
+                }));
+            case "findExistingIds": {
+                Set<String> existing = new HashSet<>((Collection<String>) args[0]);
+                existing.retainAll(users.keySet());
+                return existing;
+            }
+            case "bulkUpdateScores":
+            case "updateScores": {
+                Map<String, Integer> scores = (Map<String, Integer>) args[0];
+                List<User> updated = new ArrayList<>();
+                for (Map.Entry<String, Integer> entry : scores.entrySet()) {
+                    User user = users.get(entry.getKey());
+                    if (user != null) {
+                        user.setScore(entry.getValue());
+                        user.setBadges(Badge.forScore(entry.getValue()));
+                        updated.add(user);
+                    }
+                }
+                return method.getName().equals("updateScores") ? updated : updated.size();
+            }
+            case "findLeaderboardEntries": {
+                LeaderboardCursor after = (LeaderboardCursor) args[0];
+                return users.values().stream()
+                        .filter(user -> after == null || user.getScore() < after.getScore()
+                                || (user.getScore() == after.getScore() && user.getUserId().compareTo(after.getUserId()) > 0))
+                        .sorted(LEADERBOARD_ORDER)
+                        .limit((Integer) args[1])
+                        .map(user -> LeaderboardEntry.of(user, (Set<String>) args[2]))
+                        .collect(Collectors.toList());
+            }
+            case "streamAllByOrderByScoreDescUserIdAsc":
+                return users.values().stream().sorted(LEADERBOARD_ORDER);
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "equals":
+                return proxy == args[0];
+            case "toString":
+                return "InMemoryUserRepository(" + users.size() + " users)";
+            default:
+                throw new UnsupportedOperationException(method.getName());
+        }
+    }
+}
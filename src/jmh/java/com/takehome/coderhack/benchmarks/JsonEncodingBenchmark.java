@@ -0,0 +1,96 @@
+package com.takehome.coderhack.benchmarks;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.takehome.coderhack.dtos.LeaderboardEntry;
+import com.takehome.coderhack.entities.Badge;
+import com.takehome.coderhack.entities.User;
+import com.takehome.coderhack.json.LeaderboardJsonComponents;
+
+/**
+ * CPU per {@code GET /users} response body for reflective Jackson, Blackbird and the hand-written
+ * serializers, with and without gzip. Bytes on the wire for each encoding are printed during setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JsonEncodingBenchmark {
+
+    @Param({ "reflective", "blackbird", "handwritten" })
+    private String serializer;
+
+    @Param({ "100", "1000" })
+    private int leaderboardSize;
+
+    private ObjectWriter usersWriter;
+    private ObjectWriter entriesWriter;
+    private List<User> users;
+    private List<LeaderboardEntry> entries;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        if (serializer.equals("blackbird")) {
+            objectMapper.registerModule(new BlackbirdModule());
+        } else if (serializer.equals("handwritten")) {
+            objectMapper.registerModule(new SimpleModule()
+                    .addSerializer(User.class, new LeaderboardJsonComponents.UserSerializer())
+                    .addSerializer(LeaderboardEntry.class, new LeaderboardJsonComponents.LeaderboardEntrySerializer()));
+        }
+
+        users = new ArrayList<>(leaderboardSize);
+        entries = new ArrayList<>(leaderboardSize);
+        for (int i = 0; i < leaderboardSize; i++) {
+            int score = User.MAX_SCORE - (i * User.MAX_SCORE / leaderboardSize);
+            User user = new User("user" + i, "User " + i, score, Badge.forScore(score));
+            users.add(user);
+            entries.add(LeaderboardEntry.of(user));
+        }
+        usersWriter = objectMapper.writerFor(objectMapper.getTypeFactory().constructCollectionType(List.class, User.class));
+        entriesWriter = objectMapper.writerFor(objectMapper.getTypeFactory().constructCollectionType(List.class, LeaderboardEntry.class));
+
+        byte[] json = entriesWriter.writeValueAsBytes(entries);
+        System.out.printf("%n%d entries: %d bytes identity, %d bytes gzip%n", leaderboardSize, json.length, gzip(json).length);
+    }
+
+    @Benchmark
+    public byte[] users() throws IOException {
+        return usersWriter.writeValueAsBytes(users);
+    }
+
+    @Benchmark
+    public byte[] leaderboardEntries() throws IOException {
+        return entriesWriter.writeValueAsBytes(entries);
+    }
+
+    @Benchmark
+    public byte[] leaderboardEntriesGzip() throws IOException {
+        return gzip(entriesWriter.writeValueAsBytes(entries));
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,42 @@
+package com.takehome.coderhack.benchmarks;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+
+import org.openjdk.jol.info.GraphLayout;
+
+import com.takehome.coderhack.entities.Badge;
+import com.takehome.coderhack.entities.User;
+import com.takehome.coderhack.leaderboard.RankedUserIndex;
+
+/**
+ * Retained heap per user for the hot leaderboard set: a map of {@link User} POJOs (as the
+ * entity is modelled, with a {@code HashSet<Badge>}) against the column-wise {@link RankedUserIndex}.
+ * Both include the userId and username strings. Run with {@code ./gradlew jmhFootprint}.
+ */
+public class LeaderboardFootprint {
+
+    public static void main(String[] args) {
+        int users = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        Random random = new Random(42);
+
+        Map<String, User> pojos = new HashMap<>();
+        RankedUserIndex compact = new RankedUserIndex();
+        for (int i = 0; i < users; i++) {
+            String userId = "user" + i;
+            String username = "User " + i;
+            int score = random.nextInt(User.MAX_SCORE + 1);
+            pojos.put(userId, new User(userId, username, score, new HashSet<>(Badge.forScore(score))));
+            compact.put(userId, username, score);
+        }
+
+        long pojoBytes = GraphLayout.parseInstance(pojos).totalSize();
+        long compactBytes = GraphLayout.parseInstance(compact).totalSize();
+
+        System.out.printf("users:                      %,d%n", users);
+        System.out.printf("Map<String, User> POJOs:    %,d bytes (%d bytes/user)%n", pojoBytes, pojoBytes / users);
+        System.out.printf("RankedUserIndex (columns):  %,d bytes (%d bytes/user)%n", compactBytes, compactBytes / users);
+    }
+}
@@ -0,0 +1,71 @@
+package com.takehome.coderhack.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.takehome.coderhack.dtos.UserDTO;
+import com.takehome.coderhack.entities.Badge;
+import com.takehome.coderhack.entities.User;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SerializationBenchmark {
+
+    @Param({ "100", "10000" })
+    private int leaderboardSize;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private User user;
+    private UserDTO userDTO;
+    private List<User> leaderboard;
+    private byte[] userJson;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        user = new User("user42", "User 42", 75, Badge.forScore(75));
+        userDTO = new UserDTO();
+        userDTO.setUserId("user42");
+        userDTO.setUsername("User 42");
+
+        leaderboard = new ArrayList<>(leaderboardSize);
+        for (int i = 0; i < leaderboardSize; i++) {
+            int score = User.MAX_SCORE - (i * User.MAX_SCORE / leaderboardSize);
+            leaderboard.add(new User("user" + i, "User " + i, score, Badge.forScore(score)));
+        }
+        userJson = objectMapper.writeValueAsBytes(user);
+    }
+
+    @Benchmark
+    public byte[] serializeUser() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(user);
+    }
+
+    @Benchmark
+    public User deserializeUser() throws Exception {
+        return objectMapper.readValue(userJson, User.class);
+    }
+
+    @Benchmark
+    public byte[] serializeUserDTO() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(userDTO);
+    }
+
+    @Benchmark
+    public byte[] serializeLeaderboard() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(leaderboard);
+    }
+}
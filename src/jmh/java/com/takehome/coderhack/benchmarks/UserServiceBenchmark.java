@@ -0,0 +1,87 @@
+package com.takehome.coderhack.benchmarks;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.takehome.coderhack.dtos.UserDTO;
+import com.takehome.coderhack.entities.Badge;
+import com.takehome.coderhack.entities.User;
+import com.takehome.coderhack.events.UserChangedEvent;
+import com.takehome.coderhack.leaderboard.LeaderboardIndex;
+import com.takehome.coderhack.leaderboard.LeaderboardStats;
+import com.takehome.coderhack.repositories.UserStore;
+import com.takehome.coderhack.services.ScoreWriteBuffer;
+import com.takehome.coderhack.services.UserServiceImpl;
+import com.takehome.coderhack.services.UserWriteSequencer;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class UserServiceBenchmark {
+
+    @Param({ "1000", "100000" })
+    private int users;
+
+    private UserServiceImpl userService;
+
+    @Setup
+    public void setUp() {
+        UserStore userRepository = InMemoryUserRepository.create();
+        LeaderboardStats leaderboardStats = new LeaderboardStats();
+        LeaderboardIndex leaderboardIndex = new LeaderboardIndex();
+        ReflectionTestUtils.setField(leaderboardIndex, "userRepository", userRepository);
+        ReflectionTestUtils.setField(leaderboardIndex, "leaderboardStats", leaderboardStats);
+
+        // Deliver events synchronously to the index, as Spring's default multicaster would
+        ApplicationEventPublisher eventPublisher = event -> leaderboardIndex.onUserChanged((UserChangedEvent) event);
+
+        userService = new UserServiceImpl();
+        ReflectionTestUtils.setField(userService, "userRepository", userRepository);
+        ReflectionTestUtils.setField(userService, "leaderboardIndex", leaderboardIndex);
+        ReflectionTestUtils.setField(userService, "leaderboardStats", leaderboardStats);
+        ReflectionTestUtils.setField(userService, "eventPublisher", eventPublisher);
+        ReflectionTestUtils.setField(userService, "scoreWriteBuffer", new ScoreWriteBuffer());
+        ReflectionTestUtils.setField(userService, "writeSequencer", new UserWriteSequencer());
+
+        for (int i = 0; i < users; i++) {
+            UserDTO userDTO = new UserDTO();
+            userDTO.setUserId("user" + i);
+            userDTO.setUsername("User " + i);
+            userService.registerUser(userDTO);
+        }
+    }
+
+    @Benchmark
+    public Set<Badge> badgeForScore() {
+        return Badge.forScore(ThreadLocalRandom.current().nextInt(User.MAX_SCORE + 1));
+    }
+
+    @Benchmark
+    public User updateUserScore() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return userService.updateUserScore("user" + random.nextInt(users), random.nextInt(User.MAX_SCORE + 1));
+    }
+
+    @Benchmark
+    public Optional<User> getUserById() {
+        return userService.getUserById("user" + ThreadLocalRandom.current().nextInt(users));
+    }
+
+    @Benchmark
+    public Object getUserRank() {
+        return userService.getUserRank("user" + ThreadLocalRandom.current().nextInt(users));
+    }
+}
@@ -0,0 +1,36 @@
+package com.takehome.coderhack.cache;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.takehome.coderhack.config.CacheConfig;
+import com.takehome.coderhack.events.UserChangedEvent;
+
+/**
+ * Keeps the read-through user cache in step with writes by evicting the written user.
+ *
+ * <p>Evicting rather than putting the new value means events from concurrent writers can arrive
+ * in any order without leaving the older write cached. The cache is populated through Caffeine's
+ * atomic compute ({@code @Cacheable(sync = true)}), and an eviction waits for a load of the same
+ * key that is still running, so a load that read the old document before the write cannot be
+ * stored after it.
+ */
+@Component
+public class UserCacheSynchronizer {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @EventListener
+    public void onUserChanged(UserChangedEvent event) {
+        Cache cache = cacheManager.getCache(CacheConfig.USERS_CACHE);
+        if (cache == null) {
+            return;
+        }
+
+        cache.evict(event.getUserId());
+    }
+}
@@ -0,0 +1,17 @@
+package com.takehome.coderhack.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+
+@Configuration
+public class JacksonConfig {
+
+    // Boot registers Module beans with its ObjectMapper. Blackbird swaps reflective getter calls
+    // for generated lambdas on every bean without a hand-written serializer (see LeaderboardJsonComponents)
+    @Bean
+    public BlackbirdModule blackbirdModule() {
+        return new BlackbirdModule();
+    }
+}
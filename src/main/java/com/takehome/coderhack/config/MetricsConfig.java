@@ -0,0 +1,34 @@
+package com.takehome.coderhack.config;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import com.takehome.coderhack.metrics.ResponseSizeFilter;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Mongo command latency is recorded by Spring Boot's auto-configured driver command listener
+ * ({@code mongodb.driver.commands}); this adds what Boot does not wire on its own.
+ */
+@Configuration
+public class MetricsConfig {
+
+    // Makes @Timed work on arbitrary beans, not just controllers
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    @Bean
+    @Profile("!reactive")
+    public FilterRegistrationBean<ResponseSizeFilter> usersResponseSizeFilter(MeterRegistry meterRegistry) {
+        FilterRegistrationBean<ResponseSizeFilter> registration =
+                new FilterRegistrationBean<>(new ResponseSizeFilter(meterRegistry, "/users"));
+        registration.addUrlPatterns("/users");
+        return registration;
+    }
+}
@@ -0,0 +1,46 @@
+package com.takehome.coderhack.config;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.takehome.coderhack.metrics.ConnectionPoolWaitTimeListener;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Connection pool sizing for both the blocking and the reactive Mongo clients.
+ */
+@Configuration
+public class MongoPoolConfig {
+
+    @Value("${coderhack.mongodb.pool.max-size:100}")
+    private int maxSize;
+
+    @Value("${coderhack.mongodb.pool.min-size:0}")
+    private int minSize;
+
+    @Value("${coderhack.mongodb.pool.max-connecting:2}")
+    private int maxConnecting;
+
+    @Value("${coderhack.mongodb.pool.max-wait-time:2s}")
+    private Duration maxWaitTime;
+
+    @Value("${coderhack.mongodb.pool.max-idle-time:0s}")
+    private Duration maxIdleTime;
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer connectionPoolCustomizer(MeterRegistry meterRegistry) {
+        return builder -> builder.applyToConnectionPoolSettings(pool -> pool
+                .maxSize(maxSize)
+                .minSize(minSize)
+                .maxConnecting(maxConnecting)
+                .maxWaitTime(maxWaitTime.toMillis(), TimeUnit.MILLISECONDS)
+                .maxConnectionIdleTime(maxIdleTime.toMillis(), TimeUnit.MILLISECONDS)
+                .addConnectionPoolListener(new ConnectionPoolWaitTimeListener(meterRegistry)));
+    }
+}
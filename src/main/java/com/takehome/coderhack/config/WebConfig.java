@@ -0,0 +1,22 @@
+package com.takehome.coderhack.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.takehome.coderhack.ratelimit.WriteThrottleInterceptor;
+
+@Configuration
+@Profile("!reactive")
+public class WebConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private WriteThrottleInterceptor writeThrottleInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(writeThrottleInterceptor).addPathPatterns("/users", "/users/**", "/contests/**");
+    }
+}
@@ -0,0 +1,92 @@
+package com.takehome.coderhack.controllers;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.takehome.coderhack.dtos.ContestStandingDTO;
+import com.takehome.coderhack.dtos.RankWindowDTO;
+import com.takehome.coderhack.dtos.UserRankDTO;
+import com.takehome.coderhack.entities.ContestEntry;
+import com.takehome.coderhack.entities.User;
+import com.takehome.coderhack.exceptions.InvalidLeaderboardRequestException;
+import com.takehome.coderhack.exceptions.InvalidScoreException;
+import com.takehome.coderhack.exceptions.UserNotFoundException;
+import com.takehome.coderhack.leaderboard.RankedEntry;
+import com.takehome.coderhack.services.ContestService;
+
+@RestController
+@RequestMapping("/contests")
+@Profile("!reactive & !embedded")
+public class ContestController {
+
+    @Autowired
+    private ContestService contestService;
+
+    @Value("${coderhack.leaderboard.max-page-size:100}")
+    private int maxPageSize = 100;
+
+    @GetMapping("/top")
+    public List<ContestStandingDTO> getGlobalTop(@RequestParam(defaultValue = "10") int n) {
+        validateTop(n);
+        return contestService.getGlobalTop(n);
+    }
+
+    @GetMapping("/{contestId}/top")
+    public List<RankedEntry> getTopUsers(@PathVariable String contestId, @RequestParam(defaultValue = "10") int n) {
+        validateTop(n);
+        return contestService.getTopUsers(contestId, n);
+    }
+
+    @GetMapping("/{contestId}/users/{userId}/rank")
+    public UserRankDTO getUserRank(@PathVariable String contestId, @PathVariable String userId) {
+        return contestService.getUserRank(contestId, userId)
+                .orElseThrow(() -> new UserNotFoundException("Provided userId has not joined this contest."));
+    }
+
+    @GetMapping("/{contestId}/users/{userId}/around")
+    public RankWindowDTO getRankWindow(@PathVariable String contestId, @PathVariable String userId,
+                                       @RequestParam(defaultValue = "5") int k) {
+        if (k < 0 || k > maxPageSize) {
+            throw new InvalidLeaderboardRequestException("k must be between 0 and " + maxPageSize);
+        }
+        return contestService.getRankWindow(contestId, userId, k)
+                .orElseThrow(() -> new UserNotFoundException("Provided userId has not joined this contest."));
+    }
+
+    @PostMapping("/{contestId}/users/{userId}")
+    public ResponseEntity<ContestEntry> joinContest(@PathVariable String contestId, @PathVariable String userId) {
+        return new ResponseEntity<>(contestService.joinContest(contestId, userId), HttpStatus.CREATED);
+    }
+
+    @PutMapping("/{contestId}/users/{userId}")
+    public ContestEntry updateScore(@PathVariable String contestId, @PathVariable String userId,
+                                    @RequestParam int score) {
+        if (!User.isValidScore(score)) throw new InvalidScoreException("Provided score is invalid");
+        return contestService.updateScore(contestId, userId, score);
+    }
+
+    @DeleteMapping("/{contestId}/users/{userId}")
+    public ResponseEntity<Void> leaveContest(@PathVariable String contestId, @PathVariable String userId) {
+        contestService.leaveContest(contestId, userId);
+        return ResponseEntity.noContent().build();
+    }
+
+    private void validateTop(int n) {
+        if (n < 1 || n > maxPageSize) {
+            throw new InvalidLeaderboardRequestException("n must be between 1 and " + maxPageSize);
+        }
+    }
+}
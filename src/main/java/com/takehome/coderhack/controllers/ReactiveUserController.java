@@ -0,0 +1,173 @@
+package com.takehome.coderhack.controllers;
+
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.takehome.coderhack.dtos.BulkResult;
+import com.takehome.coderhack.dtos.LeaderboardEntry;
+import com.takehome.coderhack.dtos.LeaderboardPage;
+import com.takehome.coderhack.dtos.RankWindowDTO;
+import com.takehome.coderhack.dtos.ScoreUpdateDTO;
+import com.takehome.coderhack.dtos.UserDTO;
+import com.takehome.coderhack.dtos.UserRankDTO;
+import com.takehome.coderhack.dtos.UserStatsDTO;
+import com.takehome.coderhack.entities.User;
+import com.takehome.coderhack.exceptions.InvalidLeaderboardRequestException;
+import com.takehome.coderhack.exceptions.InvalidScoreException;
+import com.takehome.coderhack.exceptions.UserNotFoundException;
+import com.takehome.coderhack.services.ReactiveUserService;
+
+import jakarta.validation.Valid;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * WebFlux mirror of {@link UserController}, active under the {@code reactive} profile.
+ */
+@RestController
+@RequestMapping("/users")
+@Profile("reactive")
+public class ReactiveUserController {
+
+    @Autowired
+    private ReactiveUserService userService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${coderhack.leaderboard.max-page-size:100}")
+    private int maxPageSize = 100;
+
+    @GetMapping
+    public Flux<LeaderboardEntry> getAllUsers(@RequestParam(required = false) Set<String> fields) {
+        return userService.getAllUsers(UserController.resolveFields(fields));
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<User> exportUsers() {
+        return userService.streamAllUsers();
+    }
+
+    @GetMapping("/leaderboard")
+    public Mono<LeaderboardPage> getLeaderboardPage(@RequestParam(required = false) Integer afterScore,
+                                                    @RequestParam(required = false) String afterUserId,
+                                                    @RequestParam(defaultValue = "20") int size,
+                                                    @RequestParam(required = false) Set<String> fields) {
+        if (size < 1 || size > maxPageSize) {
+            throw new InvalidLeaderboardRequestException("Page size must be between 1 and " + maxPageSize);
+        }
+        if ((afterScore == null) != (afterUserId == null)) {
+            throw new InvalidLeaderboardRequestException("afterScore and afterUserId must be provided together");
+        }
+        return userService.getLeaderboardPage(afterScore, afterUserId, size, UserController.resolveFields(fields));
+    }
+
+    @GetMapping("/top")
+    public Flux<User> getTopUsers(@RequestParam(defaultValue = "10") int n) {
+        if (n < 1 || n > maxPageSize) {
+            throw new InvalidLeaderboardRequestException("n must be between 1 and " + maxPageSize);
+        }
+        return userService.getTopUsers(n);
+    }
+
+    @GetMapping("/stats")
+    public Mono<UserStatsDTO> getUserStats() {
+        return userService.getUserStats();
+    }
+
+    @GetMapping("/{userId}")
+    public Mono<User> getUserById(@PathVariable String userId) {
+        return userService.getUserById(userId)
+                .switchIfEmpty(Mono.error(() -> new UserNotFoundException("Provided userId does not exist.")));
+    }
+
+    @GetMapping("/{userId}/rank")
+    public Mono<UserRankDTO> getUserRank(@PathVariable String userId) {
+        return userService.getUserRank(userId)
+                .switchIfEmpty(Mono.error(() -> new UserNotFoundException("Provided userId does not exist.")));
+    }
+
+    @GetMapping("/{userId}/around")
+    public Mono<RankWindowDTO> getRankWindow(@PathVariable String userId, @RequestParam(defaultValue = "5") int k) {
+        validateWindow(k);
+        return userService.getRankWindow(userId, k)
+                .switchIfEmpty(Mono.error(() -> new UserNotFoundException("Provided userId does not exist.")));
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<User>> registerUser(@Valid @RequestBody UserDTO userDTO) {
+        return userService.registerUser(userDTO)
+                .map(createdUser -> new ResponseEntity<>(createdUser, HttpStatus.CREATED));
+    }
+
+    @PostMapping("/bulk")
+    public Mono<BulkResult> registerUsers(@RequestBody List<UserDTO> userDTOs) {
+        return userService.registerUsers(userDTOs);
+    }
+
+    @PutMapping("/{userId}")
+    public Mono<User> updateUserScore(@PathVariable String userId, @RequestParam int score) {
+        if (!User.isValidScore(score)) throw new InvalidScoreException("Provided score is invalid");
+        return userService.updateUserScore(userId, score);
+    }
+
+    @PutMapping(value = "/{userId}", params = "withRank=true")
+    public Mono<RankWindowDTO> updateUserScoreWithRank(@PathVariable String userId, @RequestParam int score,
+                                                       @RequestParam(defaultValue = "0") int k) {
+        if (!User.isValidScore(score)) throw new InvalidScoreException("Provided score is invalid");
+        validateWindow(k);
+        // The saved event has updated the index by the time the write completes
+        return userService.updateUserScore(userId, score)
+                .then(userService.getRankWindow(userId, k))
+                .switchIfEmpty(Mono.error(() -> new UserNotFoundException("Provided userId does not exist.")));
+    }
+
+    @PostMapping(value = "/scores/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<BulkResult> bulkUpdateScores(@RequestBody Flux<ScoreUpdateDTO> updates) {
+        return userService.bulkUpdateScores(updates);
+    }
+
+    @PostMapping(value = "/scores/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public Mono<BulkResult> bulkUpdateScoresStream(@RequestBody Flux<String> lines) {
+        // Lines are parsed here rather than by the codec, which would fail the whole body on the first bad one
+        return Mono.defer(() -> {
+            ObjectReader reader = objectMapper.readerFor(ScoreUpdateDTO.class);
+            BulkResult rejected = new BulkResult();
+            Flux<ScoreUpdateDTO> updates = lines.index()
+                    .filter(line -> !line.getT2().isBlank())
+                    .mapNotNull(line -> UserController.parseScoreUpdate(line.getT2(), line.getT1() + 1, reader, rejected));
+            return userService.bulkUpdateScores(updates).doOnNext(result -> rejected.getFailures().forEach(failure ->
+                    result.recordFailure(failure.getUserId(), failure.getStatus(), failure.getMessage())));
+        });
+    }
+
+    @DeleteMapping("/{userId}")
+    public Mono<ResponseEntity<Void>> deleteUser(@PathVariable String userId) {
+        return userService.deleteUser(userId)
+                .then(Mono.just(ResponseEntity.noContent().<Void>build()));
+    }
+
+    private void validateWindow(int k) {
+        if (k < 0 || k > maxPageSize) {
+            throw new InvalidLeaderboardRequestException("k must be between 0 and " + maxPageSize);
+        }
+    }
+}
@@ -1,9 +1,22 @@
 package com.takehome.coderhack.controllers;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -14,25 +27,100 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.takehome.coderhack.dtos.BulkItemStatus;
+import com.takehome.coderhack.dtos.BulkResult;
+import com.takehome.coderhack.dtos.LeaderboardEntry;
+import com.takehome.coderhack.dtos.LeaderboardPage;
+import com.takehome.coderhack.dtos.RankWindowDTO;
+import com.takehome.coderhack.dtos.ScoreUpdateDTO;
 import com.takehome.coderhack.dtos.UserDTO;
+import com.takehome.coderhack.dtos.UserRankDTO;
+import com.takehome.coderhack.dtos.UserStatsDTO;
 import com.takehome.coderhack.entities.User;
+import com.takehome.coderhack.exceptions.InvalidLeaderboardRequestException;
 import com.takehome.coderhack.exceptions.InvalidScoreException;
 import com.takehome.coderhack.exceptions.UserNotFoundException;
+import com.takehome.coderhack.leaderboard.LeaderboardFeed;
 import com.takehome.coderhack.services.UserService;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 
 @RestController
 @RequestMapping("/users")
+@Profile("!reactive")
 public class UserController {
 
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private LeaderboardFeed leaderboardFeed;
+
+    @Value("${coderhack.leaderboard.max-page-size:100}")
+    private int maxPageSize = 100;
+
     @GetMapping
-    public List<User> getAllUsers() {
-        return userService.getAllUsers();
+    public List<LeaderboardEntry> getAllUsers(@RequestParam(required = false) Set<String> fields) {
+        return userService.getAllUsers(resolveFields(fields));
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportUsers() {
+        ObjectWriter writer = objectMapper.writerFor(User.class);
+        StreamingResponseBody body = out -> {
+            // One user per line straight from the Mongo cursor; blocking writes throttle the cursor
+            try (Stream<User> users = userService.streamAllUsers()) {
+                Iterator<User> it = users.iterator();
+                while (it.hasNext()) {
+                    out.write(writer.writeValueAsBytes(it.next()));
+                    out.write('\n');
+                }
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    @GetMapping("/leaderboard")
+    public LeaderboardPage getLeaderboardPage(@RequestParam(required = false) Integer afterScore,
+                                              @RequestParam(required = false) String afterUserId,
+                                              @RequestParam(defaultValue = "20") int size,
+                                              @RequestParam(required = false) Set<String> fields) {
+        if (size < 1 || size > maxPageSize) {
+            throw new InvalidLeaderboardRequestException("Page size must be between 1 and " + maxPageSize);
+        }
+        if ((afterScore == null) != (afterUserId == null)) {
+            throw new InvalidLeaderboardRequestException("afterScore and afterUserId must be provided together");
+        }
+        return userService.getLeaderboardPage(afterScore, afterUserId, size, resolveFields(fields));
+    }
+
+    @GetMapping(value = "/leaderboard/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamLeaderboard() {
+        return leaderboardFeed.subscribe();
+    }
+
+    @GetMapping("/top")
+    public List<User> getTopUsers(@RequestParam(defaultValue = "10") int n) {
+        if (n < 1 || n > maxPageSize) {
+            throw new InvalidLeaderboardRequestException("n must be between 1 and " + maxPageSize);
+        }
+        return userService.getTopUsers(n);
+    }
+
+    @GetMapping("/stats")
+    public UserStatsDTO getUserStats() {
+        return userService.getUserStats();
     }
 
     @GetMapping("/{userId}")
@@ -41,22 +129,165 @@ public class UserController {
                 .orElseThrow(() -> new UserNotFoundException("Provided userId does not exist."));
     }
 
+    @GetMapping("/{userId}/rank")
+    public UserRankDTO getUserRank(@PathVariable String userId) {
+        return userService.getUserRank(userId)
+                .orElseThrow(() -> new UserNotFoundException("Provided userId does not exist."));
+    }
+
+    @GetMapping("/{userId}/around")
+    public RankWindowDTO getRankWindow(@PathVariable String userId, @RequestParam(defaultValue = "5") int k) {
+        validateWindow(k);
+        return userService.getRankWindow(userId, k)
+                .orElseThrow(() -> new UserNotFoundException("Provided userId does not exist."));
+    }
+
     @PostMapping
     public ResponseEntity<User> registerUser(@Valid @RequestBody UserDTO userDTO) {
         User createdUser = userService.registerUser(userDTO);
         return new ResponseEntity<>(createdUser, HttpStatus.CREATED);
     }
 
+    @PostMapping("/bulk")
+    public BulkResult registerUsers(@RequestBody List<UserDTO> userDTOs) {
+        return userService.registerUsers(userDTOs);
+    }
+
     @PutMapping("/{userId}")
     public User updateUserScore(@PathVariable String userId, @RequestParam int score) {
-        if (score < 0 || score > 100) throw new InvalidScoreException("Provided score is invalid");
+        if (!User.isValidScore(score)) throw new InvalidScoreException("Provided score is invalid");
         return userService.updateUserScore(userId, score);
     }
 
+    // Saves the follow-up leaderboard read clients would otherwise make to find where the user landed
+    @PutMapping(value = "/{userId}", params = "withRank=true")
+    public RankWindowDTO updateUserScoreWithRank(@PathVariable String userId, @RequestParam int score,
+                                                 @RequestParam(defaultValue = "0") int k) {
+        if (!User.isValidScore(score)) throw new InvalidScoreException("Provided score is invalid");
+        validateWindow(k);
+        userService.updateUserScore(userId, score);
+        return userService.getRankWindow(userId, k)
+                .orElseThrow(() -> new UserNotFoundException("Provided userId does not exist."));
+    }
+
+    @PostMapping(value = "/scores/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public BulkResult bulkUpdateScores(@RequestBody List<ScoreUpdateDTO> updates) {
+        return userService.bulkUpdateScores(updates.iterator());
+    }
+
+    @PostMapping(value = "/scores/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public BulkResult bulkUpdateScoresStream(HttpServletRequest request) throws IOException {
+        // Read line by line so the request body is never materialized as a whole
+        try (BufferedReader lines = new BufferedReader(
+                new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8))) {
+            NdjsonScoreUpdates updates = new NdjsonScoreUpdates(lines, objectMapper.readerFor(ScoreUpdateDTO.class));
+            BulkResult result = userService.bulkUpdateScores(updates);
+            updates.rejected.getFailures().forEach(failure ->
+                    result.recordFailure(failure.getUserId(), failure.getStatus(), failure.getMessage()));
+            return result;
+        }
+    }
+
     @DeleteMapping("/{userId}")
     public ResponseEntity<Void> deleteUser(@PathVariable String userId) {
         userService.deleteUser(userId);
         return ResponseEntity.noContent().build();
     }
+
+    private void validateWindow(int k) {
+        if (k < 0 || k > maxPageSize) {
+            throw new InvalidLeaderboardRequestException("k must be between 0 and " + maxPageSize);
+        }
+    }
+
+    /**
+     * Parses one score update per line. Lines that do not parse are recorded as INVALID and
+     * skipped instead of aborting the request, since earlier batches may already be applied.
+     */
+    private static final class NdjsonScoreUpdates implements Iterator<ScoreUpdateDTO> {
+
+        private final BufferedReader lines;
+        private final ObjectReader reader;
+        private final BulkResult rejected = new BulkResult();
+        private ScoreUpdateDTO next;
+        private int lineNumber;
+
+        NdjsonScoreUpdates(BufferedReader lines, ObjectReader reader) {
+            this.lines = lines;
+            this.reader = reader;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null) {
+                String line = readLine();
+                if (line == null) {
+                    return false;
+                }
+                lineNumber++;
+                if (!line.isBlank()) {
+                    next = parseScoreUpdate(line, lineNumber, reader, rejected);
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public ScoreUpdateDTO next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            ScoreUpdateDTO update = next;
+            next = null;
+            return update;
+        }
+
+        private String readLine() {
+            try {
+                return lines.readLine();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+    }
+
+    // One NDJSON line, or null once it is recorded in rejected; shared with ReactiveUserController
+    static ScoreUpdateDTO parseScoreUpdate(String line, long lineNumber, ObjectReader reader, BulkResult rejected) {
+        ScoreUpdateDTO update;
+        try {
+            update = reader.readValue(line);
+        } catch (JsonProcessingException ex) {
+            // Only rejected lines pay for the second parse that recovers the userId
+            rejected.recordFailure(userIdOf(line, reader), BulkItemStatus.INVALID,
+                    "Line " + lineNumber + " is not a valid score update");
+            return null;
+        }
+        if (update == null) {
+            rejected.recordFailure(null, BulkItemStatus.INVALID, "Line " + lineNumber + " is empty");
+        }
+        return update;
+    }
+
+    private static String userIdOf(String line, ObjectReader reader) {
+        try {
+            return reader.readTree(line).path("userId").asText(null);
+        } catch (JsonProcessingException ex) {
+            return null;
+        }
+    }
+
+    // userId and score are always returned since clients page with them; shared with ReactiveUserController
+    static Set<String> resolveFields(Set<String> requested) {
+        if (requested == null || requested.isEmpty()) {
+            return LeaderboardEntry.FIELDS;
+        }
+        if (!LeaderboardEntry.FIELDS.containsAll(requested)) {
+            throw new InvalidLeaderboardRequestException("fields must be a subset of " + LeaderboardEntry.FIELDS);
+        }
+        Set<String> fields = new HashSet<>(requested);
+        fields.add("userId");
+        fields.add("score");
+        return fields;
+    }
 }
 
@@ -0,0 +1,15 @@
+package com.takehome.coderhack.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkItemResult {
+
+    private String userId;
+    private BulkItemStatus status;
+    private String message;
+}
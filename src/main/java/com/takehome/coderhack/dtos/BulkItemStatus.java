@@ -0,0 +1,7 @@
+package com.takehome.coderhack.dtos;
+
+public enum BulkItemStatus {
+    INVALID,
+    NOT_FOUND,
+    CONFLICT
+}
@@ -0,0 +1,28 @@
+package com.takehome.coderhack.dtos;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Data;
+
+/**
+ * Outcome of a bulk request: how many items were applied, and one entry per rejected item.
+ */
+@Data
+public class BulkResult {
+
+    private int succeeded;
+    private List<BulkItemResult> failures = new ArrayList<>();
+
+    public int getFailed() {
+        return failures.size();
+    }
+
+    public void recordSuccesses(int count) {
+        succeeded += count;
+    }
+
+    public void recordFailure(String userId, BulkItemStatus status, String message) {
+        failures.add(new BulkItemResult(userId, status, message));
+    }
+}
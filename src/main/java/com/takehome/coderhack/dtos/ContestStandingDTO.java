@@ -0,0 +1,24 @@
+package com.takehome.coderhack.dtos;
+
+import java.util.Set;
+
+import com.takehome.coderhack.entities.Badge;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContestStandingDTO {
+
+    private String contestId;
+    private String userId;
+    private String username;
+    private int score;
+    private Set<Badge> badges;
+
+    // 1-based position across all contests
+    private long rank;
+}
@@ -0,0 +1,23 @@
+package com.takehome.coderhack.dtos;
+
+import java.util.List;
+
+import com.takehome.coderhack.leaderboard.RankedEntry;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Change to the top-N leaderboard since the previous version: entries that entered or moved,
+ * and userIds that dropped out.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaderboardDelta {
+
+    private long version;
+    private List<RankedEntry> changed;
+    private List<String> removed;
+}
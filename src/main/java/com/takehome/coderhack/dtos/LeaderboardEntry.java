@@ -0,0 +1,41 @@
+package com.takehome.coderhack.dtos;
+
+import java.util.Set;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.takehome.coderhack.entities.Badge;
+import com.takehome.coderhack.entities.User;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Leaderboard row for the listing endpoints. Fields that were not selected with {@code ?fields=}
+ * are null and left out of the JSON, so the default response matches a serialized {@link User}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class LeaderboardEntry {
+
+    public static final Set<String> FIELDS = Set.of("userId", "username", "score", "badges");
+
+    private String userId;
+    private String username;
+    private Integer score;
+    private Set<Badge> badges;
+
+    public static LeaderboardEntry of(User user) {
+        return new LeaderboardEntry(user.getUserId(), user.getUsername(), user.getScore(), user.getBadges());
+    }
+
+    public static LeaderboardEntry of(User user, Set<String> fields) {
+        return new LeaderboardEntry(
+                fields.contains("userId") ? user.getUserId() : null,
+                fields.contains("username") ? user.getUsername() : null,
+                fields.contains("score") ? user.getScore() : null,
+                fields.contains("badges") ? user.getBadges() : null);
+    }
+}
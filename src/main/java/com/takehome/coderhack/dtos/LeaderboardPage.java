@@ -0,0 +1,31 @@
+package com.takehome.coderhack.dtos;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaderboardPage {
+
+    private List<LeaderboardEntry> users;
+
+    // Null once the last page has been reached
+    private LeaderboardCursor nextCursor;
+
+    /**
+     * Builds a page from up to {@code size + 1} rows; the extra row only signals that a next page exists.
+     */
+    public static LeaderboardPage of(List<LeaderboardEntry> rows, int size) {
+        if (rows.size() <= size) {
+            return new LeaderboardPage(rows, null);
+        }
+
+        List<LeaderboardEntry> page = rows.subList(0, size);
+        LeaderboardEntry last = page.get(size - 1);
+        return new LeaderboardPage(page, new LeaderboardCursor(last.getScore(), last.getUserId()));
+    }
+}
@@ -0,0 +1,38 @@
+package com.takehome.coderhack.dtos;
+
+import java.util.List;
+import java.util.Optional;
+
+import com.takehome.coderhack.leaderboard.RankedEntry;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RankWindowDTO {
+
+    private RankedEntry user;
+    private long totalUsers;
+
+    // Neighbours in rank order: above ends with the user just ahead, below starts with the one just behind
+    private List<RankedEntry> above;
+    private List<RankedEntry> below;
+
+    /**
+     * Splits a window read around {@code userId} into the user and its neighbours.
+     *
+     * @return empty if the user is not in the window
+     */
+    public static Optional<RankWindowDTO> of(String userId, List<RankedEntry> window, long totalUsers) {
+        for (int i = 0; i < window.size(); i++) {
+            if (window.get(i).getUserId().equals(userId)) {
+                return Optional.of(new RankWindowDTO(window.get(i), totalUsers,
+                        window.subList(0, i), window.subList(i + 1, window.size())));
+            }
+        }
+        return Optional.empty();
+    }
+}
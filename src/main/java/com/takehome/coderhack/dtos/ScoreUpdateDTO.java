@@ -0,0 +1,14 @@
+package com.takehome.coderhack.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScoreUpdateDTO {
+
+    private String userId;
+    private Integer score;
+}
@@ -0,0 +1,16 @@
+package com.takehome.coderhack.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserRankDTO {
+
+    private String userId;
+    private int score;
+    private long rank;
+    private long totalUsers;
+}
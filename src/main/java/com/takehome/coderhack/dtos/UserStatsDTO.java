@@ -0,0 +1,23 @@
+package com.takehome.coderhack.dtos;
+
+import java.util.Map;
+
+import com.takehome.coderhack.entities.Badge;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserStatsDTO {
+
+    private long totalUsers;
+    private double averageScore;
+    private Map<Badge, Long> badgeCounts;
+    private Map<String, Integer> percentiles;
+
+    // histogram[score] is the number of users with exactly that score
+    private long[] histogram;
+}
@@ -1,7 +1,51 @@
 package com.takehome.coderhack.entities;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 public enum Badge {
     CODE_NINJA,
     CODE_CHAMP,
-    CODE_MASTER
-}
\ No newline at end of file
+    CODE_MASTER;
+
+    public static Set<Badge> forScore(int score) {
+        Set<Badge> badges = EnumSet.noneOf(Badge.class);
+        if (score >= 1 && score < 30) {
+            badges.add(CODE_NINJA);
+        }
+        if (score >= 30 && score < 60) {
+            badges.add(CODE_CHAMP);
+        }
+        if (score >= 60 && score <= 100) {
+            badges.add(CODE_MASTER);
+        }
+        return badges;
+    }
+
+    public int mask() {
+        return 1 << ordinal();
+    }
+
+    public static int maskForScore(int score) {
+        return toMask(forScore(score));
+    }
+
+    // Compact encoding for in-memory stores: bit i set means the badge with ordinal i
+    public static int toMask(Set<Badge> badges) {
+        int mask = 0;
+        for (Badge badge : badges) {
+            mask |= badge.mask();
+        }
+        return mask;
+    }
+
+    public static Set<Badge> fromMask(int mask) {
+        Set<Badge> badges = EnumSet.noneOf(Badge.class);
+        for (Badge badge : values()) {
+            if ((mask & badge.mask()) != 0) {
+                badges.add(badge);
+            }
+        }
+        return badges;
+    }
+}
@@ -0,0 +1,48 @@
+package com.takehome.coderhack.entities;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A user's standing in one contest. Each contest is its own partition: entries are keyed and
+ * ordered by contestId first, so queries for one contest never touch another's index range.
+ * The one cross-contest query, removing a deleted user from every contest, has its own userId index.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "contest_entries")
+@CompoundIndexes({
+        @CompoundIndex(name = "contest_user_idx", def = "{'contestId': 1, 'userId': 1}", unique = true),
+        @CompoundIndex(name = "contest_leaderboard_idx", def = "{'contestId': 1, 'score': -1, 'userId': 1}")
+})
+public class ContestEntry {
+
+    @Id
+    private String id;
+
+    private String contestId;
+    @Indexed(name = "user_idx")
+    private String userId;
+    private String username;
+    private int score = 0;
+    private Set<Badge> badges = new HashSet<>();
+
+    public ContestEntry(String contestId, String userId, String username) {
+        this.contestId = contestId;
+        this.userId = userId;
+        this.username = username;
+        this.score = 0;
+        this.badges = new HashSet<>();
+    }
+}
@@ -4,6 +4,7 @@ import java.util.HashSet;
 import java.util.Set;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import jakarta.validation.constraints.NotEmpty;
@@ -15,8 +16,12 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "users")
+@CompoundIndex(name = "leaderboard_idx", def = "{'score': -1, '_id': 1}")
 public class User {
 
+    public static final int MIN_SCORE = 0;
+    public static final int MAX_SCORE = 100;
+
     @Id
     @NotEmpty(message = "User ID must not be empty")
     private String userId;
@@ -34,5 +39,9 @@ public class User {
         this.score = 0;
         this.badges = new HashSet<>();
     }
+
+    public static boolean isValidScore(int score) {
+        return score >= MIN_SCORE && score <= MAX_SCORE;
+    }
 }
 
@@ -0,0 +1,48 @@
+package com.takehome.coderhack.events;
+
+import com.takehome.coderhack.entities.User;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Published after a user document has been written or removed, so that in-process views
+ * (ranking index, caches, ...) can follow along without re-reading Mongo.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class UserChangedEvent {
+
+    public enum Type {
+        SAVED,
+        DELETED
+    }
+
+    private final Type type;
+    private final String userId;
+
+    // Null when the publisher only knows the score (listeners keep what they already have)
+    private final String username;
+    private final int score;
+
+    // Republished from the change stream: made by another node, or an echo of one of ours
+    private final boolean remote;
+
+    public UserChangedEvent(Type type, String userId, String username, int score) {
+        this(type, userId, username, score, false);
+    }
+
+    public static UserChangedEvent saved(User user) {
+        return new UserChangedEvent(Type.SAVED, user.getUserId(), user.getUsername(), user.getScore());
+    }
+
+    public static UserChangedEvent deleted(String userId) {
+        return new UserChangedEvent(Type.DELETED, userId, null, 0);
+    }
+
+    public UserChangedEvent asRemote() {
+        return new UserChangedEvent(type, userId, username, score, true);
+    }
+}
@@ -0,0 +1,8 @@
+package com.takehome.coderhack.exceptions;
+
+public class InvalidLeaderboardRequestException extends RuntimeException {
+
+    public InvalidLeaderboardRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.takehome.coderhack.exceptions;
+
+public class ServiceOverloadedException extends RuntimeException {
+
+    public ServiceOverloadedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,92 @@
+package com.takehome.coderhack.json;
+
+import java.io.IOException;
+import java.util.Set;
+
+import org.springframework.boot.jackson.JsonComponent;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.takehome.coderhack.dtos.LeaderboardEntry;
+import com.takehome.coderhack.entities.Badge;
+import com.takehome.coderhack.entities.User;
+
+/**
+ * Hand-written serializers for the payloads listing endpoints return in bulk. They produce
+ * exactly what reflective serialization would, but field names and badge names are pre-encoded
+ * {@link SerializedString}s and no per-property bean machinery runs.
+ */
+@JsonComponent
+public class LeaderboardJsonComponents {
+
+    private static final SerializedString USER_ID = new SerializedString("userId");
+    private static final SerializedString USERNAME = new SerializedString("username");
+    private static final SerializedString SCORE = new SerializedString("score");
+    private static final SerializedString BADGES = new SerializedString("badges");
+
+    // Indexed by ordinal
+    private static final SerializedString[] BADGE_NAMES = new SerializedString[Badge.values().length];
+
+    static {
+        for (Badge badge : Badge.values()) {
+            BADGE_NAMES[badge.ordinal()] = new SerializedString(badge.name());
+        }
+    }
+
+    public static class UserSerializer extends JsonSerializer<User> {
+
+        @Override
+        public void serialize(User user, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+            gen.writeStartObject(user);
+            gen.writeFieldName(USER_ID);
+            gen.writeString(user.getUserId());
+            gen.writeFieldName(USERNAME);
+            gen.writeString(user.getUsername());
+            gen.writeFieldName(SCORE);
+            gen.writeNumber(user.getScore());
+            gen.writeFieldName(BADGES);
+            writeBadges(user.getBadges(), gen);
+            gen.writeEndObject();
+        }
+    }
+
+    // Mirrors @JsonInclude(NON_NULL) on LeaderboardEntry: unselected fields are left out
+    public static class LeaderboardEntrySerializer extends JsonSerializer<LeaderboardEntry> {
+
+        @Override
+        public void serialize(LeaderboardEntry entry, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+            gen.writeStartObject(entry);
+            if (entry.getUserId() != null) {
+                gen.writeFieldName(USER_ID);
+                gen.writeString(entry.getUserId());
+            }
+            if (entry.getUsername() != null) {
+                gen.writeFieldName(USERNAME);
+                gen.writeString(entry.getUsername());
+            }
+            if (entry.getScore() != null) {
+                gen.writeFieldName(SCORE);
+                gen.writeNumber(entry.getScore());
+            }
+            if (entry.getBadges() != null) {
+                gen.writeFieldName(BADGES);
+                writeBadges(entry.getBadges(), gen);
+            }
+            gen.writeEndObject();
+        }
+    }
+
+    private static void writeBadges(Set<Badge> badges, JsonGenerator gen) throws IOException {
+        if (badges == null) {
+            gen.writeNull();
+            return;
+        }
+        gen.writeStartArray(badges, badges.size());
+        for (Badge badge : badges) {
+            gen.writeString(BADGE_NAMES[badge.ordinal()]);
+        }
+        gen.writeEndArray();
+    }
+}
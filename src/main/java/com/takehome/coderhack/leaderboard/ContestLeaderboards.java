@@ -0,0 +1,182 @@
+package com.takehome.coderhack.leaderboard;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import com.takehome.coderhack.dtos.ContestStandingDTO;
+import com.takehome.coderhack.entities.ContestEntry;
+import com.takehome.coderhack.repositories.ContestEntryRepository;
+
+/**
+ * One {@link RankedUserIndex} per contest. Every partition has its own lock, so a burst of
+ * writes to one contest never blocks reads or writes on another. Rebuilt in the same lifecycle
+ * phase as {@link LeaderboardIndex}, before the web server starts.
+ */
+@Component
+@Profile("!reactive & !embedded")
+public class ContestLeaderboards implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(ContestLeaderboards.class);
+
+    // Partitions merged sequentially by one fork-join leaf
+    private static final int MERGE_LEAF_SIZE = 8;
+
+    // Leaderboard order across contests; contestId breaks ties for a user in several contests
+    private static final Comparator<ContestStandingDTO> GLOBAL_ORDER = Comparator
+            .comparingInt(ContestStandingDTO::getScore).reversed()
+            .thenComparing(ContestStandingDTO::getUserId)
+            .thenComparing(ContestStandingDTO::getContestId);
+
+    @Autowired
+    private ContestEntryRepository contestEntryRepository;
+
+    private final Map<String, RankedUserIndex> partitions = new ConcurrentHashMap<>();
+
+    private volatile boolean running;
+
+    @Override
+    public void start() {
+        rebuild();
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return LeaderboardIndex.REBUILD_PHASE;
+    }
+
+    public void rebuild() {
+        long start = System.nanoTime();
+        partitions.clear();
+        try (Stream<ContestEntry> entries = contestEntryRepository.streamAllBy()) {
+            entries.forEach(entry -> put(entry.getContestId(), entry.getUserId(), entry.getUsername(), entry.getScore()));
+        }
+        log.info("Contest leaderboards rebuilt for {} contests in {} ms",
+                partitions.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    public Integer put(String contestId, String userId, String username, int score) {
+        return partitions.computeIfAbsent(contestId, id -> new RankedUserIndex()).put(userId, username, score);
+    }
+
+    public Integer remove(String contestId, String userId) {
+        RankedUserIndex partition = partitions.get(contestId);
+        return partition == null ? null : partition.remove(userId);
+    }
+
+    public void removeUser(String userId) {
+        partitions.values().forEach(partition -> partition.remove(userId));
+    }
+
+    public RankedEntry get(String contestId, String userId) {
+        RankedUserIndex partition = partitions.get(contestId);
+        return partition == null ? null : partition.get(userId);
+    }
+
+    public int size(String contestId) {
+        RankedUserIndex partition = partitions.get(contestId);
+        return partition == null ? 0 : partition.size();
+    }
+
+    public List<RankedEntry> top(String contestId, int n) {
+        RankedUserIndex partition = partitions.get(contestId);
+        return partition == null ? new ArrayList<>() : partition.top(n);
+    }
+
+    public List<RankedEntry> around(String contestId, String userId, int k) {
+        RankedUserIndex partition = partitions.get(contestId);
+        return partition == null ? new ArrayList<>() : partition.around(userId, k);
+    }
+
+    /**
+     * Merges every contest's top {@code n} into the global top {@code n}. Partitions are split in
+     * halves on the common fork-join pool and the sorted halves merged pairwise on the way back up.
+     */
+    public List<ContestStandingDTO> globalTop(int n) {
+        List<Map.Entry<String, RankedUserIndex>> snapshot = new ArrayList<>(partitions.entrySet());
+        List<ContestStandingDTO> merged = snapshot.isEmpty() ? new ArrayList<>()
+                : ForkJoinPool.commonPool().invoke(new TopMerge(snapshot, 0, snapshot.size(), n));
+        for (int i = 0; i < merged.size(); i++) {
+            merged.get(i).setRank(i + 1);
+        }
+        return merged;
+    }
+
+    private static class TopMerge extends RecursiveTask<List<ContestStandingDTO>> {
+
+        private final List<Map.Entry<String, RankedUserIndex>> partitions;
+        private final int from;
+        private final int to;
+        private final int n;
+
+        TopMerge(List<Map.Entry<String, RankedUserIndex>> partitions, int from, int to, int n) {
+            this.partitions = partitions;
+            this.from = from;
+            this.to = to;
+            this.n = n;
+        }
+
+        @Override
+        protected List<ContestStandingDTO> compute() {
+            if (to - from <= MERGE_LEAF_SIZE) {
+                List<ContestStandingDTO> merged = new ArrayList<>();
+                for (int i = from; i < to; i++) {
+                    merged = merge(merged, topOf(partitions.get(i)), n);
+                }
+                return merged;
+            }
+            int mid = (from + to) >>> 1;
+            TopMerge left = new TopMerge(partitions, from, mid, n);
+            left.fork();
+            List<ContestStandingDTO> right = new TopMerge(partitions, mid, to, n).compute();
+            return merge(left.join(), right, n);
+        }
+
+        private List<ContestStandingDTO> topOf(Map.Entry<String, RankedUserIndex> partition) {
+            List<ContestStandingDTO> top = new ArrayList<>();
+            for (RankedEntry entry : partition.getValue().top(n)) {
+                top.add(new ContestStandingDTO(partition.getKey(), entry.getUserId(), entry.getUsername(),
+                        entry.getScore(), entry.getBadges(), entry.getRank()));
+            }
+            return top;
+        }
+
+        // Both inputs are sorted; keeps only the first n of their union
+        private static List<ContestStandingDTO> merge(List<ContestStandingDTO> a, List<ContestStandingDTO> b, int n) {
+            List<ContestStandingDTO> out = new ArrayList<>(Math.min(n, a.size() + b.size()));
+            int i = 0;
+            int j = 0;
+            while (out.size() < n && (i < a.size() || j < b.size())) {
+                if (j == b.size() || (i < a.size() && GLOBAL_ORDER.compare(a.get(i), b.get(j)) <= 0)) {
+                    out.add(a.get(i++));
+                } else {
+                    out.add(b.get(j++));
+                }
+            }
+            return out;
+        }
+    }
+}
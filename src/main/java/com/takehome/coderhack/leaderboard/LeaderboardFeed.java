@@ -0,0 +1,194 @@
+package com.takehome.coderhack.leaderboard;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.takehome.coderhack.dtos.LeaderboardDelta;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Pushes top-N leaderboard changes to Server-Sent Events subscribers.
+ *
+ * <p>Writers never touch the feed: once per window the feed checks the leaderboard index's
+ * version, and only if it moved computes one delta against the previous top N, serializes it
+ * once and hands the same payload to every subscriber. Each subscriber has at most one send in
+ * flight; if it is still busy with the previous one, the new delta is dropped for it and it gets a
+ * full snapshot on its next turn instead, so slow consumers fall behind without holding anyone up.
+ */
+@Component
+public class LeaderboardFeed {
+
+    private static final String SNAPSHOT_EVENT = "snapshot";
+    private static final String DELTA_EVENT = "delta";
+
+    @Autowired
+    private LeaderboardIndex leaderboardIndex;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${coderhack.feed.top-n:10}")
+    private int topN = 10;
+
+    @Value("${coderhack.feed.emitter-timeout-ms:1800000}")
+    private long emitterTimeoutMs = 1_800_000;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    private final Executor sender;
+
+    private long lastVersion = -1;
+    private List<RankedEntry> lastTop = List.of();
+    private volatile String snapshotJson;
+
+    public LeaderboardFeed() {
+        // Sends block on slow sockets; a virtual thread per send keeps that from pinning platform threads
+        this(Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    // Lets tests run sends inline or on threads they control
+    protected LeaderboardFeed(Executor sender) {
+        this.sender = sender;
+    }
+
+    public SseEmitter subscribe() {
+        if (snapshotJson == null) {
+            publish();
+        }
+
+        Subscriber subscriber = new Subscriber(new SseEmitter(emitterTimeoutMs));
+        subscriber.emitter.onCompletion(() -> subscribers.remove(subscriber));
+        subscriber.emitter.onTimeout(() -> subscribers.remove(subscriber));
+        subscriber.emitter.onError(ex -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        dispatch(subscriber, null);
+        return subscriber.emitter;
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @Scheduled(fixedDelayString = "${coderhack.feed.window-ms:500}")
+    public synchronized void publish() {
+        long version = leaderboardIndex.version();
+        if (version == lastVersion) {
+            return;
+        }
+        lastVersion = version;
+
+        List<RankedEntry> top = leaderboardIndex.range(1, topN);
+        LeaderboardDelta delta = diff(lastTop, top, version);
+        lastTop = top;
+        snapshotJson = toJson(top);
+        if (delta.getChanged().isEmpty() && delta.getRemoved().isEmpty()) {
+            return;
+        }
+
+        String deltaJson = toJson(delta);
+        for (Subscriber subscriber : subscribers) {
+            dispatch(subscriber, deltaJson);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        if (sender instanceof ExecutorService executor) {
+            executor.shutdownNow();
+        }
+    }
+
+    private void dispatch(Subscriber subscriber, String deltaJson) {
+        if (subscriber.sending.compareAndSet(false, true)) {
+            sendAsync(subscriber, deltaJson);
+            return;
+        }
+        subscriber.missedUpdate = true;
+        // The busy send may have finished before it saw the flag; then nobody else will catch up
+        if (subscriber.sending.compareAndSet(false, true)) {
+            sendAsync(subscriber, null);
+        }
+    }
+
+    private void sendAsync(Subscriber subscriber, String deltaJson) {
+        sender.execute(() -> {
+            try {
+                if (deltaJson == null || subscriber.missedUpdate) {
+                    subscriber.missedUpdate = false;
+                    send(subscriber.emitter, SNAPSHOT_EVENT, snapshotJson);
+                } else {
+                    send(subscriber.emitter, DELTA_EVENT, deltaJson);
+                }
+            } catch (IOException | IllegalStateException ex) {
+                subscribers.remove(subscriber);
+                subscriber.emitter.completeWithError(ex);
+            } finally {
+                subscriber.sending.set(false);
+            }
+            // Catch up at once rather than waiting for the next change to reach this subscriber
+            if (subscriber.missedUpdate && subscribers.contains(subscriber)) {
+                dispatch(subscriber, null);
+            }
+        });
+    }
+
+    // Overridden in tests to observe what each subscriber receives
+    protected void send(SseEmitter emitter, String event, String json) throws IOException {
+        emitter.send(SseEmitter.event().name(event).data(json, MediaType.APPLICATION_JSON));
+    }
+
+    private static LeaderboardDelta diff(List<RankedEntry> previous, List<RankedEntry> current, long version) {
+        Map<String, RankedEntry> previousById = new HashMap<>();
+        for (RankedEntry entry : previous) {
+            previousById.put(entry.getUserId(), entry);
+        }
+
+        List<RankedEntry> changed = new ArrayList<>();
+        for (RankedEntry entry : current) {
+            RankedEntry before = previousById.remove(entry.getUserId());
+            if (before == null || before.getRank() != entry.getRank() || before.getScore() != entry.getScore()) {
+                changed.add(entry);
+            }
+        }
+        return new LeaderboardDelta(version, changed, new ArrayList<>(previousById.keySet()));
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialize leaderboard update", ex);
+        }
+    }
+
+    private static final class Subscriber {
+        final SseEmitter emitter;
+        final AtomicBoolean sending = new AtomicBoolean();
+        // Starts set so the first send is a snapshot, whichever dispatch gets there first
+        volatile boolean missedUpdate = true;
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.takehome.coderhack.leaderboard;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.takehome.coderhack.entities.Badge;
+import com.takehome.coderhack.entities.User;
+import com.takehome.coderhack.events.UserChangedEvent;
+import com.takehome.coderhack.repositories.UserStore;
+
+/**
+ * In-process ranking of every user, kept current from {@link UserChangedEvent}s and rebuilt
+ * from Mongo when the application starts.
+ *
+ * <p>The rebuild runs as a lifecycle phase that completes before the web server starts, so no
+ * request can see a partial board and no write can land between the rebuild's read of a user
+ * and its insert into the index.
+ */
+@Component
+public class LeaderboardIndex implements SmartLifecycle {
+
+    // Well below the web server's phase; UserChangeStreamListener opens its cursor one phase earlier
+    public static final int REBUILD_PHASE = 0;
+
+    private static final Logger log = LoggerFactory.getLogger(LeaderboardIndex.class);
+
+    @Autowired
+    private UserStore userRepository;
+
+    @Autowired
+    private LeaderboardStats leaderboardStats;
+
+    private final RankedUserIndex index = new RankedUserIndex();
+
+    // Bumped after every change so readers can cheaply tell whether anything moved
+    private final AtomicLong version = new AtomicLong();
+
+    private volatile boolean running;
+
+    @Override
+    public void start() {
+        rebuild();
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return REBUILD_PHASE;
+    }
+
+    public void rebuild() {
+        long start = System.nanoTime();
+        index.clear();
+        leaderboardStats.reset();
+        try (Stream<User> users = userRepository.streamAllByOrderByScoreDescUserIdAsc()) {
+            users.forEach(user -> leaderboardStats.record(
+                    index.put(user.getUserId(), user.getUsername(), user.getScore()), user.getScore()));
+        }
+        version.incrementAndGet();
+        log.info("Leaderboard index rebuilt with {} users in {} ms", index.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // The index knows each user's previous score, so it also drives the stats transitions
+    // Local writes publish in commit order per user, since UserWriteSequencer runs them one at a time
+    @EventListener
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.getType() == UserChangedEvent.Type.DELETED) {
+            leaderboardStats.record(index.remove(event.getUserId()), null);
+        } else {
+            leaderboardStats.record(index.put(event.getUserId(), event.getUsername(), event.getScore()), event.getScore());
+        }
+        version.incrementAndGet();
+    }
+
+    public long version() {
+        return version.get();
+    }
+
+    public List<User> top(int n) {
+        return index.top(n).stream().map(LeaderboardIndex::toUser).collect(Collectors.toList());
+    }
+
+    public RankedEntry get(String userId) {
+        return index.get(userId);
+    }
+
+    public List<RankedEntry> range(long fromRank, int count) {
+        return index.range(fromRank, count);
+    }
+
+    public List<RankedEntry> around(String userId, int k) {
+        return index.around(userId, k);
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    public static User toUser(RankedEntry entry) {
+        return new User(entry.getUserId(), entry.getUsername(), entry.getScore(), Badge.fromMask(entry.getBadgeMask()));
+    }
+}
@@ -0,0 +1,106 @@
+package com.takehome.coderhack.leaderboard;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.stereotype.Component;
+
+import com.takehome.coderhack.dtos.UserStatsDTO;
+import com.takehome.coderhack.entities.Badge;
+import com.takehome.coderhack.entities.User;
+
+/**
+ * Per-badge counts and a one-bucket-per-score histogram, maintained incrementally as users move.
+ * Counters are {@link LongAdder}s so concurrent writers never contend on a single cache line,
+ * and every read is bounded by the 101 buckets rather than by the number of users.
+ */
+@Component
+public class LeaderboardStats {
+
+    private static final int[] PERCENTILES = { 50, 75, 90, 95, 99 };
+
+    private final LongAdder[] histogram = new LongAdder[User.MAX_SCORE + 1];
+    private final Map<Badge, LongAdder> badgeCounts = new EnumMap<>(Badge.class);
+
+    public LeaderboardStats() {
+        for (int i = 0; i < histogram.length; i++) {
+            histogram[i] = new LongAdder();
+        }
+        for (Badge badge : Badge.values()) {
+            badgeCounts.put(badge, new LongAdder());
+        }
+    }
+
+    /**
+     * Moves one user between buckets. A null previous score means the user is new; a null
+     * current score means the user was removed.
+     */
+    public void record(Integer previousScore, Integer currentScore) {
+        if (previousScore != null && previousScore.equals(currentScore)) {
+            return;
+        }
+        if (previousScore != null) {
+            add(previousScore, -1);
+        }
+        if (currentScore != null) {
+            add(currentScore, 1);
+        }
+    }
+
+    public void reset() {
+        for (LongAdder bucket : histogram) {
+            bucket.reset();
+        }
+        badgeCounts.values().forEach(LongAdder::reset);
+    }
+
+    public UserStatsDTO snapshot() {
+        long[] counts = new long[histogram.length];
+        long total = 0;
+        long scoreSum = 0;
+        for (int score = 0; score < counts.length; score++) {
+            counts[score] = histogram[score].sum();
+            total += counts[score];
+            scoreSum += counts[score] * score;
+        }
+
+        Map<Badge, Long> badges = new EnumMap<>(Badge.class);
+        badgeCounts.forEach((badge, count) -> badges.put(badge, count.sum()));
+
+        Map<String, Integer> percentiles = new LinkedHashMap<>();
+        for (int p : PERCENTILES) {
+            percentiles.put("p" + p, percentile(counts, total, p));
+        }
+
+        double average = total == 0 ? 0 : (double) scoreSum / total;
+        return new UserStatsDTO(total, average, badges, percentiles, counts);
+    }
+
+    private void add(int score, int delta) {
+        if (!User.isValidScore(score)) {
+            return;
+        }
+        histogram[score].add(delta);
+        for (Badge badge : Badge.forScore(score)) {
+            badgeCounts.get(badge).add(delta);
+        }
+    }
+
+    // Lowest score s such that at least p% of users score s or less
+    private static int percentile(long[] counts, long total, int p) {
+        if (total == 0) {
+            return 0;
+        }
+        long threshold = (total * p + 99) / 100;
+        long seen = 0;
+        for (int score = 0; score < counts.length; score++) {
+            seen += counts[score];
+            if (seen >= threshold) {
+                return score;
+            }
+        }
+        return counts.length - 1;
+    }
+}
@@ -0,0 +1,31 @@
+package com.takehome.coderhack.leaderboard;
+
+import java.util.Set;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.takehome.coderhack.entities.Badge;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@ToString
+@AllArgsConstructor
+public class RankedEntry {
+
+    private final String userId;
+    private final String username;
+    private final int score;
+
+    // See Badge#toMask
+    @JsonIgnore
+    private final int badgeMask;
+
+    // 1-based position in the leaderboard
+    private final long rank;
+
+    public Set<Badge> getBadges() {
+        return Badge.fromMask(badgeMask);
+    }
+}
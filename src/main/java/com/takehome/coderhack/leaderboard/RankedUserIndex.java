@@ -0,0 +1,420 @@
+package com.takehome.coderhack.leaderboard;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.takehome.coderhack.entities.Badge;
+
+/**
+ * Order-statistic index over users, ordered by score descending and userId ascending.
+ * Backed by a size-augmented treap, so rank lookups, inserts and removals are O(log n)
+ * and a window of k entries is O(log n + k).
+ *
+ * <p>Users are stored column-wise: each user owns an int slot, and its score, badge bitmask
+ * and treap links live in parallel primitive arrays at that slot. userId to slot lookups go
+ * through an open-addressing int table. Apart from the userId and username strings themselves
+ * there is no per-user object, so a million users cost a few dozen bytes each instead of a
+ * node, a map entry and a boxed badge set. {@link RankedEntry} views are only created for
+ * the entries a caller actually asks for.
+ */
+public class RankedUserIndex {
+
+    private static final int NIL = -1;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    // Per-slot columns
+    private String[] userIds;
+    private String[] usernames;
+    private int[] scores;
+    private byte[] badgeMasks;
+    private int[] left;
+    private int[] right;
+    private int[] sizes;
+    private int[] priorities;
+
+    // Slots freed by removals, reused before growing past highWater
+    private int[] freeSlots;
+    private int freeCount;
+    private int highWater;
+
+    // userId -> slot + 1 (0 marks an empty bucket), linear probing
+    private int[] table;
+    private int count;
+    private int root = NIL;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public RankedUserIndex() {
+        allocate(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Inserts or moves a user. A null username keeps the one already indexed.
+     *
+     * @return the previous score, or null if the user was not indexed
+     */
+    public Integer put(String userId, String username, int score) {
+        lock.writeLock().lock();
+        try {
+            int slot = find(userId);
+            Integer previous = null;
+            if (slot != NIL) {
+                previous = scores[slot];
+                if (username != null) {
+                    usernames[slot] = username;
+                }
+                if (scores[slot] == score) {
+                    return previous;
+                }
+                root = remove(root, scores[slot], userId);
+            } else {
+                slot = newSlot();
+                userIds[slot] = userId;
+                usernames[slot] = username;
+                addToTable(slot);
+            }
+
+            scores[slot] = score;
+            badgeMasks[slot] = (byte) Badge.maskForScore(score);
+            left[slot] = NIL;
+            right[slot] = NIL;
+            sizes[slot] = 1;
+            priorities[slot] = ThreadLocalRandom.current().nextInt();
+
+            long parts = split(root, score, userId);
+            root = merge(merge(high(parts), slot), low(parts));
+            return previous;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return the removed user's score, or null if the user was not indexed
+     */
+    public Integer remove(String userId) {
+        lock.writeLock().lock();
+        try {
+            int slot = find(userId);
+            if (slot == NIL) {
+                return null;
+            }
+            int score = scores[slot];
+            root = remove(root, score, userId);
+            removeFromTable(slot);
+            userIds[slot] = null;
+            usernames[slot] = null;
+            freeSlots[freeCount++] = slot;
+            return score;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public RankedEntry get(String userId) {
+        lock.readLock().lock();
+        try {
+            int slot = find(userId);
+            return slot == NIL ? null : entry(slot, rankOf(slot));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return the 1-based rank of the user, or -1 if the user is not indexed
+     */
+    public long rank(String userId) {
+        lock.readLock().lock();
+        try {
+            int slot = find(userId);
+            return slot == NIL ? -1 : rankOf(slot);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<RankedEntry> top(int n) {
+        return range(1, n);
+    }
+
+    /**
+     * @return up to {@code count} entries starting at the 1-based rank {@code fromRank}
+     */
+    public List<RankedEntry> range(long fromRank, int count) {
+        lock.readLock().lock();
+        try {
+            List<RankedEntry> out = new ArrayList<>(Math.max(0, Math.min(count, size(root))));
+            if (count > 0) {
+                collect(root, Math.max(1, fromRank), Math.max(1, fromRank) + count - 1, 0, out);
+            }
+            return out;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Reads the user's entry together with up to {@code k} entries on either side under one lock,
+     * so the window is consistent even while scores move.
+     *
+     * @return the window in rank order, or an empty list if the user is not indexed
+     */
+    public List<RankedEntry> around(String userId, int k) {
+        lock.readLock().lock();
+        try {
+            int slot = find(userId);
+            if (slot == NIL) {
+                return new ArrayList<>();
+            }
+            long rank = rankOf(slot);
+            long from = Math.max(1, rank - k);
+            List<RankedEntry> out = new ArrayList<>((int) (rank - from) + k + 1);
+            collect(root, from, rank + k, 0, out);
+            return out;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            allocate(INITIAL_CAPACITY);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void allocate(int capacity) {
+        userIds = new String[capacity];
+        usernames = new String[capacity];
+        scores = new int[capacity];
+        badgeMasks = new byte[capacity];
+        left = new int[capacity];
+        right = new int[capacity];
+        sizes = new int[capacity];
+        priorities = new int[capacity];
+        freeSlots = new int[capacity];
+        freeCount = 0;
+        highWater = 0;
+        table = new int[capacity * 2];
+        count = 0;
+        root = NIL;
+    }
+
+    private int newSlot() {
+        if (freeCount > 0) {
+            return freeSlots[--freeCount];
+        }
+        if (highWater == scores.length) {
+            int capacity = scores.length * 2;
+            userIds = Arrays.copyOf(userIds, capacity);
+            usernames = Arrays.copyOf(usernames, capacity);
+            scores = Arrays.copyOf(scores, capacity);
+            badgeMasks = Arrays.copyOf(badgeMasks, capacity);
+            left = Arrays.copyOf(left, capacity);
+            right = Arrays.copyOf(right, capacity);
+            sizes = Arrays.copyOf(sizes, capacity);
+            priorities = Arrays.copyOf(priorities, capacity);
+            freeSlots = Arrays.copyOf(freeSlots, capacity);
+        }
+        return highWater++;
+    }
+
+    private RankedEntry entry(int slot, long rank) {
+        return new RankedEntry(userIds[slot], usernames[slot], scores[slot], badgeMasks[slot], rank);
+    }
+
+    // --- userId -> slot table ---
+
+    private int find(String userId) {
+        int mask = table.length - 1;
+        for (int i = bucket(userId, mask); table[i] != 0; i = (i + 1) & mask) {
+            int slot = table[i] - 1;
+            if (userIds[slot].equals(userId)) {
+                return slot;
+            }
+        }
+        return NIL;
+    }
+
+    private void addToTable(int slot) {
+        if ((count + 1) * 2 > table.length) {
+            rehash(table.length * 2);
+        }
+        insertIntoTable(slot);
+        count++;
+    }
+
+    private void insertIntoTable(int slot) {
+        int mask = table.length - 1;
+        int i = bucket(userIds[slot], mask);
+        while (table[i] != 0) {
+            i = (i + 1) & mask;
+        }
+        table[i] = slot + 1;
+    }
+
+    private void rehash(int length) {
+        int[] old = table;
+        table = new int[length];
+        for (int entry : old) {
+            if (entry != 0) {
+                insertIntoTable(entry - 1);
+            }
+        }
+    }
+
+    // Backward-shift deletion keeps probe chains intact without tombstones
+    private void removeFromTable(int slot) {
+        int mask = table.length - 1;
+        int i = bucket(userIds[slot], mask);
+        while (table[i] != slot + 1) {
+            i = (i + 1) & mask;
+        }
+        table[i] = 0;
+        for (int j = (i + 1) & mask; table[j] != 0; j = (j + 1) & mask) {
+            int home = bucket(userIds[table[j] - 1], mask);
+            if (((j - home) & mask) >= ((j - i) & mask)) {
+                table[i] = table[j];
+                table[j] = 0;
+                i = j;
+            }
+        }
+        count--;
+    }
+
+    private static int bucket(String userId, int mask) {
+        int h = userId.hashCode();
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    // --- treap over slots ---
+
+    private long rankOf(int target) {
+        long before = 0;
+        int t = root;
+        while (t != NIL) {
+            int c = compare(scores[target], userIds[target], t);
+            if (c < 0) {
+                t = left[t];
+            } else if (c > 0) {
+                before += size(left[t]) + 1;
+                t = right[t];
+            } else {
+                before += size(left[t]);
+                break;
+            }
+        }
+        return before + 1;
+    }
+
+    private void collect(int t, long from, long to, long offset, List<RankedEntry> out) {
+        if (t == NIL) {
+            return;
+        }
+        long nodeRank = offset + size(left[t]) + 1;
+        if (from < nodeRank) {
+            collect(left[t], from, to, offset, out);
+        }
+        if (from <= nodeRank && nodeRank <= to) {
+            out.add(entry(t, nodeRank));
+        }
+        if (to > nodeRank) {
+            collect(right[t], from, to, nodeRank, out);
+        }
+    }
+
+    // Higher scores sort first; equal scores fall back to userId so the order is total and stable
+    private int compare(int score, String userId, int slot) {
+        if (score != scores[slot]) {
+            return Integer.compare(scores[slot], score);
+        }
+        return userId.compareTo(userIds[slot]);
+    }
+
+    // Splits t into slots ordered strictly before (score, userId) and the rest, packed high/low
+    private long split(int t, int score, String userId) {
+        if (t == NIL) {
+            return pack(NIL, NIL);
+        }
+        if (compare(score, userId, t) > 0) {
+            long parts = split(right[t], score, userId);
+            right[t] = high(parts);
+            update(t);
+            return pack(t, low(parts));
+        }
+        long parts = split(left[t], score, userId);
+        left[t] = low(parts);
+        update(t);
+        return pack(high(parts), t);
+    }
+
+    private int merge(int a, int b) {
+        if (a == NIL) {
+            return b;
+        }
+        if (b == NIL) {
+            return a;
+        }
+        if (priorities[a] > priorities[b]) {
+            right[a] = merge(right[a], b);
+            update(a);
+            return a;
+        }
+        left[b] = merge(a, left[b]);
+        update(b);
+        return b;
+    }
+
+    private int remove(int t, int score, String userId) {
+        if (t == NIL) {
+            return NIL;
+        }
+        int c = compare(score, userId, t);
+        if (c == 0) {
+            return merge(left[t], right[t]);
+        }
+        if (c < 0) {
+            left[t] = remove(left[t], score, userId);
+        } else {
+            right[t] = remove(right[t], score, userId);
+        }
+        update(t);
+        return t;
+    }
+
+    private void update(int t) {
+        sizes[t] = 1 + size(left[t]) + size(right[t]);
+    }
+
+    private int size(int t) {
+        return t == NIL ? 0 : sizes[t];
+    }
+
+    private static long pack(int high, int low) {
+        return ((long) high << 32) | (low & 0xffffffffL);
+    }
+
+    private static int high(long packed) {
+        return (int) (packed >> 32);
+    }
+
+    private static int low(long packed) {
+        return (int) packed;
+    }
+}
@@ -0,0 +1,46 @@
+package com.takehome.coderhack.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+import com.mongodb.event.ConnectionCheckOutFailedEvent;
+import com.mongodb.event.ConnectionCheckedOutEvent;
+import com.mongodb.event.ConnectionPoolListener;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Records how long requests wait to check a connection out of the Mongo pool. A growing wait
+ * time is the first sign that the pool, not Mongo itself, is the bottleneck.
+ */
+public class ConnectionPoolWaitTimeListener implements ConnectionPoolListener {
+
+    private static final String METRIC = "mongodb.driver.pool.wait";
+
+    private final MeterRegistry meterRegistry;
+
+    public ConnectionPoolWaitTimeListener(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void connectionCheckedOut(ConnectionCheckedOutEvent event) {
+        timer(event.getConnectionId().getServerId().getAddress().toString(), "success")
+                .record(event.getElapsedTime(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void connectionCheckOutFailed(ConnectionCheckOutFailedEvent event) {
+        timer(event.getServerId().getAddress().toString(), event.getReason().name().toLowerCase())
+                .record(event.getElapsedTime(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+    }
+
+    private Timer timer(String server, String outcome) {
+        return Timer.builder(METRIC)
+                .description("Time spent waiting to check out a pooled Mongo connection")
+                .tag("server.address", server)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
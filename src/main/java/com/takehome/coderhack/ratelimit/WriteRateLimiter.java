@@ -0,0 +1,83 @@
+package com.takehome.coderhack.ratelimit;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Per-client and per-userId token buckets for write requests. Buckets live in bounded Caffeine
+ * caches, so idle clients are forgotten and a flood of distinct keys cannot grow memory unbounded.
+ */
+@Component
+public class WriteRateLimiter {
+
+    @Value("${coderhack.rate-limit.client.permits-per-second:50}")
+    private double clientPermitsPerSecond = 50;
+
+    @Value("${coderhack.rate-limit.client.burst:100}")
+    private int clientBurst = 100;
+
+    @Value("${coderhack.rate-limit.user.permits-per-second:5}")
+    private double userPermitsPerSecond = 5;
+
+    @Value("${coderhack.rate-limit.user.burst:10}")
+    private int userBurst = 10;
+
+    @Value("${coderhack.rate-limit.max-tracked-keys:100000}")
+    private long maxTrackedKeys = 100_000;
+
+    private Cache<String, TokenBucket> clientBuckets;
+    private Cache<String, TokenBucket> userBuckets;
+
+    @PostConstruct
+    void init() {
+        clientBuckets = newBucketCache();
+        userBuckets = newBucketCache();
+    }
+
+    /**
+     * @return 0 if the client may write, otherwise the nanos until it may retry
+     */
+    public long acquireForClient(String clientId) {
+        long now = System.nanoTime();
+        return clientBuckets.get(clientId, key -> new TokenBucket(clientPermitsPerSecond, clientBurst, now))
+                .tryAcquire(now);
+    }
+
+    /**
+     * @return 0 if the user may be written, otherwise the nanos until it may retry
+     */
+    public long acquireForUser(String userId) {
+        long now = System.nanoTime();
+        return userBuckets.get(userId, key -> new TokenBucket(userPermitsPerSecond, userBurst, now))
+                .tryAcquire(now);
+    }
+
+    public void refundClient(String clientId) {
+        refund(clientBuckets, clientId);
+    }
+
+    public void refundUser(String userId) {
+        refund(userBuckets, userId);
+    }
+
+    private static void refund(Cache<String, TokenBucket> buckets, String key) {
+        TokenBucket bucket = buckets.getIfPresent(key);
+        if (bucket != null) {
+            bucket.refund();
+        }
+    }
+
+    private Cache<String, TokenBucket> newBucketCache() {
+        return Caffeine.newBuilder()
+                .maximumSize(maxTrackedKeys)
+                .expireAfterAccess(Duration.ofMinutes(10))
+                .build();
+    }
+}
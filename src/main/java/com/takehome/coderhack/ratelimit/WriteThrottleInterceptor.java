@@ -0,0 +1,121 @@
+package com.takehome.coderhack.ratelimit;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.takehome.coderhack.exceptions.RateLimitExceededException;
+import com.takehome.coderhack.exceptions.ServiceOverloadedException;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Rejects write requests before they reach the service layer: 429 when the client or the target
+ * user is over its rate, 503 when too many writes are already in flight. Capping in-flight writes
+ * below the Mongo pool size leaves connections free for reads during a write storm.
+ *
+ * <p>Clients are identified by the authenticated principal, else by the remote address (resolved
+ * from trusted proxies' forwarding headers, see {@code server.forward-headers-strategy}). The
+ * client header is only used when {@code coderhack.rate-limit.trust-client-header} is set, since
+ * a client could otherwise dodge its bucket by sending a new value with every request.
+ */
+@Component
+public class WriteThrottleInterceptor implements HandlerInterceptor {
+
+    private static final String ADMITTED = WriteThrottleInterceptor.class.getName() + ".admitted";
+
+    @Autowired
+    private WriteRateLimiter rateLimiter;
+
+    @Value("${coderhack.rate-limit.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${coderhack.rate-limit.client-header:X-Client-Id}")
+    private String clientHeader = "X-Client-Id";
+
+    // Only enable when a gateway in front sets the header and strips it from client requests
+    @Value("${coderhack.rate-limit.trust-client-header:false}")
+    private boolean trustClientHeader = false;
+
+    @Value("${coderhack.load-shedding.max-in-flight-writes:50}")
+    private int maxInFlightWrites = 50;
+
+    private final AtomicInteger inFlightWrites = new AtomicInteger();
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!enabled || !isWrite(request)) {
+            return true;
+        }
+
+        // Each check gives back the permits taken before it, so a rejected request costs nothing
+        String clientId = clientId(request);
+        throttle(rateLimiter.acquireForClient(clientId), "Too many write requests from this client");
+        String userId = pathUserId(request);
+        if (userId != null) {
+            long waitNanos = rateLimiter.acquireForUser(userId);
+            if (waitNanos > 0) {
+                rateLimiter.refundClient(clientId);
+                throttle(waitNanos, "Too many writes to user " + userId);
+            }
+        }
+
+        if (inFlightWrites.incrementAndGet() > maxInFlightWrites) {
+            inFlightWrites.decrementAndGet();
+            rateLimiter.refundClient(clientId);
+            if (userId != null) {
+                rateLimiter.refundUser(userId);
+            }
+            throw new ServiceOverloadedException("Too many writes in progress, try again shortly");
+        }
+        request.setAttribute(ADMITTED, Boolean.TRUE);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(ADMITTED) != null) {
+            request.removeAttribute(ADMITTED);
+            inFlightWrites.decrementAndGet();
+        }
+    }
+
+    private static void throttle(long waitNanos, String message) {
+        if (waitNanos > 0) {
+            // Round up so clients never retry before a permit is actually free
+            throw new RateLimitExceededException(message, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+        }
+    }
+
+    private static boolean isWrite(HttpServletRequest request) {
+        String method = request.getMethod();
+        return "POST".equals(method) || "PUT".equals(method) || "DELETE".equals(method);
+    }
+
+    private String clientId(HttpServletRequest request) {
+        if (request.getUserPrincipal() != null) {
+            return "principal:" + request.getUserPrincipal().getName();
+        }
+        if (trustClientHeader) {
+            String header = request.getHeader(clientHeader);
+            if (header != null && !header.isBlank()) {
+                return "header:" + header;
+            }
+        }
+        return "address:" + request.getRemoteAddr();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String pathUserId(HttpServletRequest request) {
+        Map<String, String> variables =
+                (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        return variables == null ? null : variables.get("userId");
+    }
+}
@@ -0,0 +1,17 @@
+package com.takehome.coderhack.repositories;
+
+import java.util.stream.Stream;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import com.takehome.coderhack.entities.ContestEntry;
+
+public interface ContestEntryRepository extends MongoRepository<ContestEntry, String>, ContestEntryRepositoryCustom {
+
+    // Backed by a Mongo cursor; callers must close the stream
+    Stream<ContestEntry> streamAllBy();
+
+    long deleteByContestIdAndUserId(String contestId, String userId);
+
+    long deleteByUserId(String userId);
+}
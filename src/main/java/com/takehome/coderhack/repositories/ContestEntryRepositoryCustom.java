@@ -0,0 +1,15 @@
+package com.takehome.coderhack.repositories;
+
+import java.util.Optional;
+
+import com.takehome.coderhack.entities.ContestEntry;
+
+public interface ContestEntryRepositoryCustom {
+
+    /**
+     * Atomically sets the contest score and the badges derived from it in a single findAndModify.
+     *
+     * @return the updated entry, or empty if the user has not joined the contest
+     */
+    Optional<ContestEntry> updateScore(String contestId, String userId, int score);
+}
@@ -0,0 +1,29 @@
+package com.takehome.coderhack.repositories;
+
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.takehome.coderhack.entities.Badge;
+import com.takehome.coderhack.entities.ContestEntry;
+
+public class ContestEntryRepositoryCustomImpl implements ContestEntryRepositoryCustom {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public Optional<ContestEntry> updateScore(String contestId, String userId, int score) {
+        Query query = Query.query(Criteria.where("contestId").is(contestId).and("userId").is(userId));
+        Update update = new Update()
+                .set("score", score)
+                .set("badges", Badge.forScore(score));
+        return Optional.ofNullable(mongoTemplate.findAndModify(query, update,
+                FindAndModifyOptions.options().returnNew(true), ContestEntry.class));
+    }
+}
@@ -0,0 +1,11 @@
+package com.takehome.coderhack.repositories;
+
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+
+import com.takehome.coderhack.entities.User;
+
+import reactor.core.publisher.Flux;
+
+public interface ReactiveUserRepository extends ReactiveMongoRepository<User, String>, ReactiveUserRepositoryCustom {
+    Flux<User> findAllByOrderByScoreDescUserIdAsc();
+}
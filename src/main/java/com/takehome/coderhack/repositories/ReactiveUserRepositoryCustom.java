@@ -0,0 +1,31 @@
+package com.takehome.coderhack.repositories;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.takehome.coderhack.dtos.LeaderboardCursor;
+import com.takehome.coderhack.dtos.LeaderboardEntry;
+import com.takehome.coderhack.entities.User;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of {@link UserRepositoryCustom}.
+ */
+public interface ReactiveUserRepositoryCustom {
+
+    Mono<User> updateScore(String userId, int score);
+
+    Flux<String> findExistingIds(Collection<String> userIds);
+
+    Mono<Integer> bulkUpdateScores(Map<String, Integer> scoresByUserId);
+
+    Flux<User> updateScores(Map<String, Integer> scoresByUserId);
+
+    Mono<Set<String>> insertAllSkippingDuplicates(List<User> users);
+
+    Flux<LeaderboardEntry> findLeaderboardEntries(LeaderboardCursor after, int limit, Set<String> fields);
+}
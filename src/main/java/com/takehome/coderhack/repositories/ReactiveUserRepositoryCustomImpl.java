@@ -0,0 +1,130 @@
+package com.takehome.coderhack.repositories;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveBulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import com.takehome.coderhack.dtos.LeaderboardCursor;
+import com.takehome.coderhack.dtos.LeaderboardEntry;
+import com.takehome.coderhack.entities.Badge;
+import com.takehome.coderhack.entities.User;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public class ReactiveUserRepositoryCustomImpl implements ReactiveUserRepositoryCustom {
+
+    private static final int DUPLICATE_KEY_ERROR = 11000;
+
+    @Autowired
+    private ReactiveMongoTemplate mongoTemplate;
+
+    @Override
+    public Mono<User> updateScore(String userId, int score) {
+        return mongoTemplate.findAndModify(byId(userId), scoreUpdate(score),
+                FindAndModifyOptions.options().returnNew(true), User.class);
+    }
+
+    @Override
+    public Flux<String> findExistingIds(Collection<String> userIds) {
+        Query query = Query.query(Criteria.where("_id").in(userIds));
+        query.fields().include("_id");
+        return mongoTemplate.find(query, User.class).map(User::getUserId);
+    }
+
+    @Override
+    public Mono<Integer> bulkUpdateScores(Map<String, Integer> scoresByUserId) {
+        if (scoresByUserId.isEmpty()) {
+            return Mono.just(0);
+        }
+        ReactiveBulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, User.class);
+        scoresByUserId.forEach((userId, score) -> ops.updateOne(byId(userId), scoreUpdate(score)));
+        return ops.execute().map(result -> result.getMatchedCount());
+    }
+
+    @Override
+    public Flux<User> updateScores(Map<String, Integer> scoresByUserId) {
+        if (scoresByUserId.isEmpty()) {
+            return Flux.empty();
+        }
+        return bulkUpdateScores(scoresByUserId).thenMany(
+                mongoTemplate.find(Query.query(Criteria.where("_id").in(scoresByUserId.keySet())), User.class));
+    }
+
+    @Override
+    public Mono<Set<String>> insertAllSkippingDuplicates(List<User> users) {
+        if (users.isEmpty()) {
+            return Mono.just(new HashSet<>());
+        }
+        return mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, User.class)
+                .insert(users)
+                .execute()
+                .map(result -> (Set<String>) new HashSet<String>())
+                .onErrorResume(ex -> duplicatesOrError(users, ex));
+    }
+
+    @Override
+    public Flux<LeaderboardEntry> findLeaderboardEntries(LeaderboardCursor after, int limit, Set<String> fields) {
+        // Same keyset query and projection as UserRepositoryCustomImpl
+        Query query = after == null ? new Query() : Query.query(new Criteria().orOperator(
+                Criteria.where("score").lt(after.getScore()),
+                Criteria.where("score").is(after.getScore()).and("_id").gt(after.getUserId())));
+        query.with(Sort.by(Sort.Order.desc("score"), Sort.Order.asc("_id"))).limit(limit);
+        fields.forEach(query.fields()::include);
+
+        return mongoTemplate.find(query, User.class).map(user -> LeaderboardEntry.of(user, fields));
+    }
+
+    private static Mono<Set<String>> duplicatesOrError(List<User> users, Throwable ex) {
+        List<BulkWriteError> errors = bulkWriteErrors(ex);
+        if (errors == null) {
+            return Mono.error(ex);
+        }
+        Set<String> duplicates = new HashSet<>();
+        for (BulkWriteError error : errors) {
+            if (error.getCode() != DUPLICATE_KEY_ERROR) {
+                return Mono.error(ex);
+            }
+            duplicates.add(users.get(error.getIndex()).getUserId());
+        }
+        return Mono.just(duplicates);
+    }
+
+    // Depending on the translation path the driver error may arrive wrapped; dig the write errors out
+    private static List<BulkWriteError> bulkWriteErrors(Throwable ex) {
+        for (Throwable t = ex; t != null; t = t.getCause()) {
+            if (t instanceof BulkOperationException bulkException) {
+                return bulkException.getErrors();
+            }
+            if (t instanceof MongoBulkWriteException bulkException) {
+                return bulkException.getWriteErrors();
+            }
+        }
+        return null;
+    }
+
+    private static Query byId(String userId) {
+        return Query.query(Criteria.where("_id").is(userId));
+    }
+
+    private static Update scoreUpdate(int score) {
+        return new Update()
+                .set("score", score)
+                .set("badges", Badge.forScore(score));
+    }
+}
@@ -0,0 +1,55 @@
+package com.takehome.coderhack.repositories;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import com.takehome.coderhack.dtos.LeaderboardCursor;
+import com.takehome.coderhack.dtos.LeaderboardEntry;
+import com.takehome.coderhack.entities.User;
+
+public interface UserRepositoryCustom {
+
+    /**
+     * Atomically sets the score and the badges derived from it in a single findAndModify.
+     *
+     * @return the updated user, or empty if no user has the given ID
+     */
+    Optional<User> updateScore(String userId, int score);
+
+    /**
+     * @return the subset of the given IDs that exist, fetched with an _id-only projection
+     */
+    Set<String> findExistingIds(Collection<String> userIds);
+
+    /**
+     * Applies score (and derived badge) updates as one unordered bulk write.
+     *
+     * @return the number of matched documents
+     */
+    int bulkUpdateScores(Map<String, Integer> scoresByUserId);
+
+    /**
+     * {@link #bulkUpdateScores}, then reads back the users the write reached. A bulk write only
+     * reports counts, so this is how callers learn which updates applied, and with which usernames.
+     *
+     * @return the updated users; IDs that matched no document are absent
+     */
+    List<User> updateScores(Map<String, Integer> scoresByUserId);
+
+    /**
+     * Inserts all users in one unordered insertMany. Users whose ID is already taken are skipped
+     * rather than failing the whole batch.
+     *
+     * @return the IDs rejected with a duplicate-key error
+     */
+    Set<String> insertAllSkippingDuplicates(List<User> users);
+
+    /**
+     * Reads up to {@code limit} users in leaderboard order, strictly after {@code after} when given.
+     * Only {@code fields} are fetched from Mongo; the other entry fields are left null.
+     */
+    List<LeaderboardEntry> findLeaderboardEntries(LeaderboardCursor after, int limit, Set<String> fields);
+}
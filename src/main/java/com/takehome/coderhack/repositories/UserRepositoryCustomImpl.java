@@ -0,0 +1,110 @@
+package com.takehome.coderhack.repositories;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.mongodb.bulk.BulkWriteError;
+import com.takehome.coderhack.dtos.LeaderboardCursor;
+import com.takehome.coderhack.dtos.LeaderboardEntry;
+import com.takehome.coderhack.entities.Badge;
+import com.takehome.coderhack.entities.User;
+
+public class UserRepositoryCustomImpl implements UserRepositoryCustom {
+
+    private static final int DUPLICATE_KEY_ERROR = 11000;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public Optional<User> updateScore(String userId, int score) {
+        Query query = Query.query(Criteria.where("_id").is(userId));
+        return Optional.ofNullable(mongoTemplate.findAndModify(query, scoreUpdate(score),
+                FindAndModifyOptions.options().returnNew(true), User.class));
+    }
+
+    @Override
+    public Set<String> findExistingIds(Collection<String> userIds) {
+        Query query = Query.query(Criteria.where("_id").in(userIds));
+        query.fields().include("_id");
+
+        Set<String> existing = new HashSet<>();
+        for (User user : mongoTemplate.find(query, User.class)) {
+            existing.add(user.getUserId());
+        }
+        return existing;
+    }
+
+    @Override
+    public int bulkUpdateScores(Map<String, Integer> scoresByUserId) {
+        if (scoresByUserId.isEmpty()) {
+            return 0;
+        }
+        BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, User.class);
+        scoresByUserId.forEach((userId, score) ->
+                ops.updateOne(Query.query(Criteria.where("_id").is(userId)), scoreUpdate(score)));
+        return ops.execute().getMatchedCount();
+    }
+
+    @Override
+    public List<User> updateScores(Map<String, Integer> scoresByUserId) {
+        if (scoresByUserId.isEmpty()) {
+            return List.of();
+        }
+        bulkUpdateScores(scoresByUserId);
+        return mongoTemplate.find(Query.query(Criteria.where("_id").in(scoresByUserId.keySet())), User.class);
+    }
+
+    @Override
+    public Set<String> insertAllSkippingDuplicates(List<User> users) {
+        Set<String> duplicates = new HashSet<>();
+        if (users.isEmpty()) {
+            return duplicates;
+        }
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, User.class).insert(users).execute();
+        } catch (BulkOperationException ex) {
+            for (BulkWriteError error : ex.getErrors()) {
+                if (error.getCode() != DUPLICATE_KEY_ERROR) {
+                    throw ex;
+                }
+                duplicates.add(users.get(error.getIndex()).getUserId());
+            }
+        }
+        return duplicates;
+    }
+
+    @Override
+    public List<LeaderboardEntry> findLeaderboardEntries(LeaderboardCursor after, int limit, Set<String> fields) {
+        // Keyset continuation: everything strictly after (score, userId), served by leaderboard_idx
+        Query query = after == null ? new Query() : Query.query(new Criteria().orOperator(
+                Criteria.where("score").lt(after.getScore()),
+                Criteria.where("score").is(after.getScore()).and("_id").gt(after.getUserId())));
+        query.with(Sort.by(Sort.Order.desc("score"), Sort.Order.asc("_id"))).limit(limit);
+        fields.forEach(query.fields()::include);
+
+        return mongoTemplate.find(query, User.class).stream()
+                .map(user -> LeaderboardEntry.of(user, fields))
+                .toList();
+    }
+
+    private static Update scoreUpdate(int score) {
+        return new Update()
+                .set("score", score)
+                .set("badges", Badge.forScore(score));
+    }
+}
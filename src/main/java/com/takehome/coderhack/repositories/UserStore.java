@@ -0,0 +1,26 @@
+package com.takehome.coderhack.repositories;
+
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import com.takehome.coderhack.entities.User;
+
+/**
+ * The user storage operations the services rely on. {@link UserRepository} serves them from Mongo
+ * and the embedded store from memory, so services inject this rather than the full
+ * {@code MongoRepository} surface that only Mongo can back.
+ */
+public interface UserStore extends UserRepositoryCustom {
+
+    Optional<User> findById(String userId);
+
+    /**
+     * @throws org.springframework.dao.DuplicateKeyException if the userId is already taken
+     */
+    <S extends User> S insert(S user);
+
+    void deleteById(String userId);
+
+    // Backed by a Mongo cursor; callers must close the stream
+    Stream<User> streamAllByOrderByScoreDescUserIdAsc();
+}
@@ -0,0 +1,345 @@
+package com.takehome.coderhack.repositories.embedded;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+
+import com.takehome.coderhack.dtos.LeaderboardCursor;
+import com.takehome.coderhack.dtos.LeaderboardEntry;
+import com.takehome.coderhack.entities.Badge;
+import com.takehome.coderhack.entities.User;
+import com.takehome.coderhack.repositories.UserStore;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * {@link UserStore} for deployments without Mongo (profile {@code embedded}). Users live in a
+ * hash map with a score-ordered skip list next to it, so ordered scans and keyset pages never leave
+ * the process. Every write is appended to a memory-mapped {@link UserLog}; the log is folded into a
+ * snapshot periodically, when it fills up and on shutdown, so a cold start reads one snapshot
+ * sequentially plus a short tail of log records.
+ *
+ * <p>Reads are lock-free. Writes are serialized on this repository so the log order matches the
+ * in-memory order.
+ */
+@Repository
+@Profile("embedded")
+public class EmbeddedUserRepository implements UserStore {
+
+    private static final Logger log = LoggerFactory.getLogger(EmbeddedUserRepository.class);
+
+    // Higher scores first, then userId; spelled out because it runs on every skip list step
+    private static final Comparator<StoredUser> LEADERBOARD_ORDER = (a, b) -> a.score() != b.score()
+            ? Integer.compare(b.score(), a.score())
+            : a.userId().compareTo(b.userId());
+
+    @Value("${coderhack.embedded.data-dir:data}")
+    private String dataDir = "data";
+
+    @Value("${coderhack.embedded.log-size-mb:64}")
+    private int logSizeMb = 64;
+
+    private final Map<String, StoredUser> users = new ConcurrentHashMap<>();
+    private ConcurrentSkipListMap<StoredUser, Boolean> byScore;
+    private UserLog userLog;
+
+    @PostConstruct
+    public void open() throws IOException {
+        long start = System.nanoTime();
+        userLog = new UserLog(Paths.get(dataDir), logSizeMb * 1024 * 1024);
+        List<StoredUser> snapshot = userLog.readSnapshot();
+        for (StoredUser user : snapshot) {
+            users.put(user.userId(), user);
+        }
+        // Snapshots are written in leaderboard order, so the skip list can be built in one linear pass
+        byScore = new ConcurrentSkipListMap<>(new SortedSnapshot(snapshot));
+        userLog.replay(this::apply, this::unapply);
+        log.info("Embedded store loaded {} users from {} in {} ms",
+                users.size(), dataDir, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @Scheduled(fixedDelayString = "${coderhack.embedded.snapshot-interval-ms:60000}")
+    public synchronized void snapshot() {
+        if (!userLog.isEmpty()) {
+            compact();
+        }
+    }
+
+    // Changes already survive a process crash through the shared mapping; this covers OS crashes
+    @Scheduled(fixedDelayString = "${coderhack.embedded.sync-interval-ms:1000}")
+    public synchronized void sync() {
+        userLog.force();
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        snapshot();
+        userLog.close();
+    }
+
+    // --- UserStore ---
+
+    @Override
+    public Stream<User> streamAllByOrderByScoreDescUserIdAsc() {
+        return ordered(byScore.keySet()).map(StoredUser::toUser);
+    }
+
+    @Override
+    public synchronized Optional<User> updateScore(String userId, int score) {
+        StoredUser current = users.get(userId);
+        if (current == null) {
+            return Optional.empty();
+        }
+        StoredUser updated = withScore(current, score);
+        write(updated);
+        return Optional.of(updated.toUser());
+    }
+
+    @Override
+    public Set<String> findExistingIds(Collection<String> userIds) {
+        Set<String> existing = new HashSet<>();
+        for (String userId : userIds) {
+            if (users.containsKey(userId)) {
+                existing.add(userId);
+            }
+        }
+        return existing;
+    }
+
+    @Override
+    public int bulkUpdateScores(Map<String, Integer> scoresByUserId) {
+        return updateScores(scoresByUserId).size();
+    }
+
+    @Override
+    public synchronized List<User> updateScores(Map<String, Integer> scoresByUserId) {
+        List<User> updated = new ArrayList<>();
+        for (Map.Entry<String, Integer> entry : scoresByUserId.entrySet()) {
+            StoredUser current = users.get(entry.getKey());
+            if (current != null) {
+                StoredUser user = withScore(current, entry.getValue());
+                write(user);
+                updated.add(user.toUser());
+            }
+        }
+        return updated;
+    }
+
+    @Override
+    public synchronized Set<String> insertAllSkippingDuplicates(List<User> batch) {
+        Set<String> duplicates = new HashSet<>();
+        for (User user : batch) {
+            if (users.containsKey(user.getUserId())) {
+                duplicates.add(user.getUserId());
+            } else {
+                write(StoredUser.of(user));
+            }
+        }
+        return duplicates;
+    }
+
+    @Override
+    public List<LeaderboardEntry> findLeaderboardEntries(LeaderboardCursor after, int limit, Set<String> fields) {
+        NavigableSet<StoredUser> from = after == null ? byScore.keySet()
+                : byScore.tailMap(new StoredUser(after.getUserId(), null, after.getScore(), (byte) 0), false).keySet();
+        return ordered(from).limit(limit).map(user -> LeaderboardEntry.of(user.toUser(), fields)).toList();
+    }
+
+    @Override
+    public synchronized <S extends User> S insert(S entity) {
+        if (users.containsKey(entity.getUserId())) {
+            throw new DuplicateKeyException("Duplicate userId " + entity.getUserId());
+        }
+        write(StoredUser.of(entity));
+        return entity;
+    }
+
+    @Override
+    public Optional<User> findById(String userId) {
+        return Optional.ofNullable(users.get(userId)).map(StoredUser::toUser);
+    }
+
+    @Override
+    public synchronized void deleteById(String userId) {
+        if (users.containsKey(userId)) {
+            if (!userLog.appendDelete(userId)) {
+                compact();
+                userLog.appendDelete(userId);
+            }
+            unapply(userId);
+        }
+    }
+
+    // Not needed by the services; kept for inspection and tests
+
+    public boolean existsById(String userId) {
+        return users.containsKey(userId);
+    }
+
+    public List<User> findAll() {
+        return streamAllByOrderByScoreDescUserIdAsc().toList();
+    }
+
+    public long count() {
+        return users.size();
+    }
+
+    // --- internals ---
+
+    // Callers hold the monitor
+    private void write(StoredUser user) {
+        if (!userLog.appendPut(user)) {
+            compact();
+            if (!userLog.appendPut(user)) {
+                throw new DataAccessResourceFailureException("User " + user.userId() + " does not fit in the embedded log");
+            }
+        }
+        apply(user);
+    }
+
+    private void apply(StoredUser user) {
+        StoredUser previous = users.put(user.userId(), user);
+        boolean samePosition = previous != null && LEADERBOARD_ORDER.compare(previous, user) == 0;
+        if (samePosition) {
+            // put() would keep the old key, so it has to go first
+            byScore.remove(previous);
+        }
+        byScore.put(user, Boolean.TRUE);
+        if (previous != null && !samePosition) {
+            // Removing a moved user only after adding it keeps it visible to concurrent scans
+            byScore.remove(previous);
+        }
+    }
+
+    private void unapply(String userId) {
+        StoredUser previous = users.remove(userId);
+        if (previous != null) {
+            byScore.remove(previous);
+        }
+    }
+
+    // Readers may briefly see a moved user at both positions; only the current one is returned
+    private Stream<StoredUser> ordered(Collection<StoredUser> set) {
+        return set.stream().filter(user -> users.get(user.userId()) == user);
+    }
+
+    private void compact() {
+        try {
+            userLog.compact(byScore.keySet());
+        } catch (IOException ex) {
+            throw new DataAccessResourceFailureException("Could not write user snapshot to " + dataDir, ex);
+        }
+    }
+
+    private static StoredUser withScore(StoredUser user, int score) {
+        return new StoredUser(user.userId(), user.username(), score, (byte) Badge.maskForScore(score));
+    }
+
+    // Read-only SortedMap over an already sorted snapshot, handed to the skip list's bulk build
+    private static class SortedSnapshot extends AbstractMap<StoredUser, Boolean> implements SortedMap<StoredUser, Boolean> {
+
+        private final List<StoredUser> users;
+
+        SortedSnapshot(List<StoredUser> users) {
+            this.users = users;
+        }
+
+        @Override
+        public Comparator<? super StoredUser> comparator() {
+            return LEADERBOARD_ORDER;
+        }
+
+        @Override
+        public Set<Map.Entry<StoredUser, Boolean>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Map.Entry<StoredUser, Boolean>> iterator() {
+                    Iterator<StoredUser> it = users.iterator();
+                    return new Iterator<>() {
+                        @Override
+                        public boolean hasNext() {
+                            return it.hasNext();
+                        }
+
+                        @Override
+                        public Map.Entry<StoredUser, Boolean> next() {
+                            return new SimpleImmutableEntry<>(it.next(), Boolean.TRUE);
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return users.size();
+                }
+            };
+        }
+
+        @Override
+        public StoredUser firstKey() {
+            if (users.isEmpty()) {
+                throw new NoSuchElementException();
+            }
+            return users.get(0);
+        }
+
+        @Override
+        public StoredUser lastKey() {
+            if (users.isEmpty()) {
+                throw new NoSuchElementException();
+            }
+            return users.get(users.size() - 1);
+        }
+
+        @Override
+        public SortedMap<StoredUser, Boolean> subMap(StoredUser fromKey, StoredUser toKey) {
+            if (LEADERBOARD_ORDER.compare(fromKey, toKey) > 0) {
+                throw new IllegalArgumentException("fromKey > toKey");
+            }
+            return new SortedSnapshot(users.subList(indexOf(fromKey), indexOf(toKey)));
+        }
+
+        @Override
+        public SortedMap<StoredUser, Boolean> headMap(StoredUser toKey) {
+            return new SortedSnapshot(users.subList(0, indexOf(toKey)));
+        }
+
+        @Override
+        public SortedMap<StoredUser, Boolean> tailMap(StoredUser fromKey) {
+            return new SortedSnapshot(users.subList(indexOf(fromKey), users.size()));
+        }
+
+        // Position of the first user not ordered before key
+        private int indexOf(StoredUser key) {
+            int index = Collections.binarySearch(users, key, LEADERBOARD_ORDER);
+            return index >= 0 ? index : -index - 1;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.takehome.coderhack.repositories.embedded;
+
+import com.takehome.coderhack.entities.Badge;
+import com.takehome.coderhack.entities.User;
+
+/**
+ * Immutable form of a {@link User} as held by the embedded store. Callers always get a fresh
+ * {@link User} copy, so mutating a returned entity never changes stored state.
+ */
+record StoredUser(String userId, String username, int score, byte badgeMask) {
+
+    static StoredUser of(User user) {
+        byte badgeMask = user.getBadges() == null ? 0 : (byte) Badge.toMask(user.getBadges());
+        return new StoredUser(user.getUserId(), user.getUsername(), user.getScore(), badgeMask);
+    }
+
+    User toUser() {
+        return new User(userId, username, score, Badge.fromMask(badgeMask));
+    }
+}
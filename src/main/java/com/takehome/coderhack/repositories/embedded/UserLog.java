@@ -0,0 +1,221 @@
+package com.takehome.coderhack.repositories.embedded;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Durable state of the embedded store: a snapshot of all users plus a memory-mapped,
+ * append-only log of the changes made since that snapshot. Not thread-safe; the repository
+ * serializes writers.
+ *
+ * <p>Log records are {@code [int length][byte op][payload]}. The length is written after the
+ * payload, so a record torn by a crash reads as length 0 and replay stops cleanly before it.
+ */
+class UserLog implements Closeable {
+
+    private static final int SNAPSHOT_MAGIC = 0x43485531; // "CHU1"
+    private static final byte PUT = 1;
+    private static final byte DELETE = 2;
+    private static final int NO_USERNAME = -1;
+
+    private final Path snapshotFile;
+    private final Path logFile;
+    private final FileChannel logChannel;
+    private final MappedByteBuffer log;
+
+    UserLog(Path directory, int logCapacityBytes) throws IOException {
+        Files.createDirectories(directory);
+        this.snapshotFile = directory.resolve("users.snapshot");
+        this.logFile = directory.resolve("users.log");
+        this.logChannel = FileChannel.open(logFile,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.log = logChannel.map(FileChannel.MapMode.READ_WRITE, 0, logCapacityBytes);
+    }
+
+    /**
+     * @return every user in the snapshot, in the order they were passed to {@link #compact}
+     */
+    List<StoredUser> readSnapshot() throws IOException {
+        List<StoredUser> users = new ArrayList<>();
+        if (!Files.exists(snapshotFile)) {
+            return users;
+        }
+        try (FileChannel channel = FileChannel.open(snapshotFile, StandardOpenOption.READ)) {
+            ByteBuffer snapshot = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (snapshot.getInt() != SNAPSHOT_MAGIC) {
+                throw new IOException("Not a user snapshot: " + snapshotFile);
+            }
+            while (snapshot.hasRemaining()) {
+                users.add(readUser(snapshot));
+            }
+        }
+        return users;
+    }
+
+    /**
+     * Replays the changes logged since the snapshot and positions the log for appends.
+     */
+    void replay(Consumer<StoredUser> onPut, Consumer<String> onDelete) {
+        log.position(0);
+        while (log.remaining() >= Integer.BYTES) {
+            int start = log.position();
+            int length = log.getInt();
+            if (length == 0) {
+                log.position(start);
+                break;
+            }
+            byte op = log.get();
+            if (op == PUT) {
+                onPut.accept(readUser(log));
+            } else {
+                onDelete.accept(readString(log));
+            }
+        }
+    }
+
+    /**
+     * @return false if the log has no room left and must be compacted first
+     */
+    boolean appendPut(StoredUser user) {
+        byte[] userId = user.userId().getBytes(StandardCharsets.UTF_8);
+        byte[] username = user.username() == null ? null : user.username().getBytes(StandardCharsets.UTF_8);
+        int length = 1 + Integer.BYTES + 1 + stringSize(userId) + stringSize(username);
+        if (!hasRoom(length)) {
+            return false;
+        }
+        int start = log.position();
+        log.position(start + Integer.BYTES);
+        log.put(PUT);
+        writeUser(userId, username, user.score(), user.badgeMask());
+        log.putInt(start, length);
+        return true;
+    }
+
+    /**
+     * @return false if the log has no room left and must be compacted first
+     */
+    boolean appendDelete(String userId) {
+        byte[] id = userId.getBytes(StandardCharsets.UTF_8);
+        int length = 1 + stringSize(id);
+        if (!hasRoom(length)) {
+            return false;
+        }
+        int start = log.position();
+        log.position(start + Integer.BYTES);
+        log.put(DELETE);
+        putString(log, id);
+        log.putInt(start, length);
+        return true;
+    }
+
+    boolean isEmpty() {
+        return log.position() == 0;
+    }
+
+    /**
+     * Writes {@code users} to a new snapshot, swaps it in atomically and empties the log. A crash
+     * between the two steps is harmless: replaying the old log over the new snapshot reapplies
+     * changes the snapshot already contains.
+     */
+    void compact(Iterable<StoredUser> users) throws IOException {
+        Path tmp = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16));
+            out.writeInt(SNAPSHOT_MAGIC);
+            for (StoredUser user : users) {
+                byte[] userId = user.userId().getBytes(StandardCharsets.UTF_8);
+                byte[] username = user.username() == null ? null : user.username().getBytes(StandardCharsets.UTF_8);
+                out.writeInt(user.score());
+                out.writeByte(user.badgeMask());
+                writeString(out, userId);
+                writeString(out, username);
+            }
+            out.flush();
+            channel.force(true);
+        }
+        Files.move(tmp, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        byte[] zeros = new byte[64 * 1024];
+        for (int i = 0, used = log.position(); i < used; i += zeros.length) {
+            log.put(i, zeros, 0, Math.min(zeros.length, used - i));
+        }
+        log.position(0);
+        log.force();
+    }
+
+    void force() {
+        log.force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        log.force();
+        logChannel.close();
+    }
+
+    private boolean hasRoom(int length) {
+        return log.remaining() >= Integer.BYTES + length;
+    }
+
+    private void writeUser(byte[] userId, byte[] username, int score, byte badgeMask) {
+        log.putInt(score);
+        log.put(badgeMask);
+        putString(log, userId);
+        putString(log, username);
+    }
+
+    private static StoredUser readUser(ByteBuffer buffer) {
+        int score = buffer.getInt();
+        byte badgeMask = buffer.get();
+        String userId = readString(buffer);
+        String username = readString(buffer);
+        return new StoredUser(userId, username, score, badgeMask);
+    }
+
+    private static int stringSize(byte[] bytes) {
+        return Integer.BYTES + (bytes == null ? 0 : bytes.length);
+    }
+
+    private static void putString(ByteBuffer buffer, byte[] bytes) {
+        if (bytes == null) {
+            buffer.putInt(NO_USERNAME);
+        } else {
+            buffer.putInt(bytes.length);
+            buffer.put(bytes);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, byte[] bytes) throws IOException {
+        if (bytes == null) {
+            out.writeInt(NO_USERNAME);
+        } else {
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length == NO_USERNAME) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,20 @@
+package com.takehome.coderhack.services;
+
+import java.util.List;
+import java.util.Optional;
+
+import com.takehome.coderhack.dtos.ContestStandingDTO;
+import com.takehome.coderhack.dtos.RankWindowDTO;
+import com.takehome.coderhack.dtos.UserRankDTO;
+import com.takehome.coderhack.entities.ContestEntry;
+import com.takehome.coderhack.leaderboard.RankedEntry;
+
+public interface ContestService {
+    ContestEntry joinContest(String contestId, String userId);
+    ContestEntry updateScore(String contestId, String userId, int score);
+    void leaveContest(String contestId, String userId);
+    List<RankedEntry> getTopUsers(String contestId, int n);
+    Optional<UserRankDTO> getUserRank(String contestId, String userId);
+    Optional<RankWindowDTO> getRankWindow(String contestId, String userId, int k);
+    List<ContestStandingDTO> getGlobalTop(int n);
+}
@@ -0,0 +1,111 @@
+package com.takehome.coderhack.services;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+
+import com.takehome.coderhack.dtos.ContestStandingDTO;
+import com.takehome.coderhack.dtos.RankWindowDTO;
+import com.takehome.coderhack.dtos.UserRankDTO;
+import com.takehome.coderhack.entities.ContestEntry;
+import com.takehome.coderhack.entities.User;
+import com.takehome.coderhack.events.UserChangedEvent;
+import com.takehome.coderhack.exceptions.UserAlreadyExistsException;
+import com.takehome.coderhack.exceptions.UserNotFoundException;
+import com.takehome.coderhack.leaderboard.ContestLeaderboards;
+import com.takehome.coderhack.leaderboard.RankedEntry;
+import com.takehome.coderhack.repositories.ContestEntryRepository;
+import com.takehome.coderhack.repositories.UserStore;
+
+import io.micrometer.core.annotation.Timed;
+
+@Service
+@Profile("!reactive & !embedded")
+@Timed("coderhack.contest.service")
+public class ContestServiceImpl implements ContestService {
+
+    @Autowired
+    private ContestEntryRepository contestEntryRepository;
+
+    @Autowired
+    private UserStore userRepository;
+
+    @Autowired
+    private ContestLeaderboards contestLeaderboards;
+
+    @Override
+    public ContestEntry joinContest(String contestId, String userId) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new UserNotFoundException("User with ID " + userId + " does not exist"));
+        ContestEntry entry;
+        try {
+            // The (contestId, userId) unique index is the membership check
+            entry = contestEntryRepository.insert(new ContestEntry(contestId, userId, user.getUsername()));
+        } catch (DuplicateKeyException ex) {
+            throw new UserAlreadyExistsException("User with ID " + userId + " already joined contest " + contestId);
+        }
+        contestLeaderboards.put(contestId, userId, entry.getUsername(), entry.getScore());
+        return entry;
+    }
+
+    @Override
+    public ContestEntry updateScore(String contestId, String userId, int score) {
+        ContestEntry entry = contestEntryRepository.updateScore(contestId, userId, score)
+                .orElseThrow(() -> new UserNotFoundException(
+                        "User with ID " + userId + " has not joined contest " + contestId));
+        contestLeaderboards.put(contestId, userId, entry.getUsername(), entry.getScore());
+        return entry;
+    }
+
+    @Override
+    public void leaveContest(String contestId, String userId) {
+        if (contestEntryRepository.deleteByContestIdAndUserId(contestId, userId) == 0) {
+            throw new UserNotFoundException("User with ID " + userId + " has not joined contest " + contestId);
+        }
+        contestLeaderboards.remove(contestId, userId);
+    }
+
+    @Override
+    public List<RankedEntry> getTopUsers(String contestId, int n) {
+        return contestLeaderboards.top(contestId, n);
+    }
+
+    @Override
+    public Optional<UserRankDTO> getUserRank(String contestId, String userId) {
+        RankedEntry entry = contestLeaderboards.get(contestId, userId);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new UserRankDTO(entry.getUserId(), entry.getScore(), entry.getRank(),
+                contestLeaderboards.size(contestId)));
+    }
+
+    @Override
+    public Optional<RankWindowDTO> getRankWindow(String contestId, String userId, int k) {
+        return RankWindowDTO.of(userId, contestLeaderboards.around(contestId, userId, k),
+                contestLeaderboards.size(contestId));
+    }
+
+    @Override
+    public List<ContestStandingDTO> getGlobalTop(int n) {
+        return contestLeaderboards.globalTop(n);
+    }
+
+    // A deleted user leaves every contest they joined. Only the node that made the delete cleans
+    // up Mongo; other nodes would just repeat the same delete when its change stream echo arrives
+    @EventListener
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.getType() != UserChangedEvent.Type.DELETED) {
+            return;
+        }
+        if (!event.isRemote()) {
+            contestEntryRepository.deleteByUserId(event.getUserId());
+        }
+        contestLeaderboards.removeUser(event.getUserId());
+    }
+}
@@ -0,0 +1,33 @@
+package com.takehome.coderhack.services;
+
+import java.util.List;
+import java.util.Set;
+
+import com.takehome.coderhack.dtos.BulkResult;
+import com.takehome.coderhack.dtos.LeaderboardEntry;
+import com.takehome.coderhack.dtos.LeaderboardPage;
+import com.takehome.coderhack.dtos.RankWindowDTO;
+import com.takehome.coderhack.dtos.ScoreUpdateDTO;
+import com.takehome.coderhack.dtos.UserDTO;
+import com.takehome.coderhack.dtos.UserRankDTO;
+import com.takehome.coderhack.dtos.UserStatsDTO;
+import com.takehome.coderhack.entities.User;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveUserService {
+    Flux<LeaderboardEntry> getAllUsers(Set<String> fields);
+    Flux<User> streamAllUsers();
+    Mono<LeaderboardPage> getLeaderboardPage(Integer afterScore, String afterUserId, int size, Set<String> fields);
+    Flux<User> getTopUsers(int n);
+    Mono<User> getUserById(String userId);
+    Mono<UserRankDTO> getUserRank(String userId);
+    Mono<RankWindowDTO> getRankWindow(String userId, int k);
+    Mono<UserStatsDTO> getUserStats();
+    Mono<User> registerUser(UserDTO user);
+    Mono<BulkResult> registerUsers(List<UserDTO> users);
+    Mono<User> updateUserScore(String userId, int score);
+    Mono<BulkResult> bulkUpdateScores(Flux<ScoreUpdateDTO> updates);
+    Mono<Void> deleteUser(String userId);
+}
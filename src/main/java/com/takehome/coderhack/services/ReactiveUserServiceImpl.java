@@ -0,0 +1,225 @@
+package com.takehome.coderhack.services;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+
+import com.takehome.coderhack.dtos.BulkItemStatus;
+import com.takehome.coderhack.dtos.BulkResult;
+import com.takehome.coderhack.dtos.LeaderboardCursor;
+import com.takehome.coderhack.dtos.LeaderboardEntry;
+import com.takehome.coderhack.dtos.LeaderboardPage;
+import com.takehome.coderhack.dtos.RankWindowDTO;
+import com.takehome.coderhack.dtos.ScoreUpdateDTO;
+import com.takehome.coderhack.dtos.UserDTO;
+import com.takehome.coderhack.dtos.UserRankDTO;
+import com.takehome.coderhack.dtos.UserStatsDTO;
+import com.takehome.coderhack.entities.User;
+import com.takehome.coderhack.events.UserChangedEvent;
+import com.takehome.coderhack.exceptions.UserAlreadyExistsException;
+import com.takehome.coderhack.exceptions.UserNotFoundException;
+import com.takehome.coderhack.leaderboard.LeaderboardIndex;
+import com.takehome.coderhack.leaderboard.LeaderboardStats;
+import com.takehome.coderhack.leaderboard.RankedEntry;
+import com.takehome.coderhack.repositories.ReactiveUserRepository;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking variant of {@link UserServiceImpl}, active under the {@code reactive} profile.
+ */
+@Service
+@Profile("reactive")
+public class ReactiveUserServiceImpl implements ReactiveUserService {
+
+    @Autowired
+    private ReactiveUserRepository userRepository;
+
+    @Autowired
+    private LeaderboardIndex leaderboardIndex;
+
+    @Autowired
+    private LeaderboardStats leaderboardStats;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private UserWriteSequencer writeSequencer;
+
+    @Value("${coderhack.users.max-list-size:1000}")
+    private int maxListSize = 1000;
+
+    @Value("${coderhack.bulk.batch-size:1000}")
+    private int bulkBatchSize = 1000;
+
+    @Override
+    public Flux<LeaderboardEntry> getAllUsers(Set<String> fields) {
+        return userRepository.findLeaderboardEntries(null, maxListSize, fields);
+    }
+
+    @Override
+    public Flux<User> streamAllUsers() {
+        return userRepository.findAllByOrderByScoreDescUserIdAsc();
+    }
+
+    @Override
+    public Mono<LeaderboardPage> getLeaderboardPage(Integer afterScore, String afterUserId, int size, Set<String> fields) {
+        LeaderboardCursor after = afterScore == null ? null : new LeaderboardCursor(afterScore, afterUserId);
+        return userRepository.findLeaderboardEntries(after, size + 1, fields)
+                .collectList()
+                .map(rows -> LeaderboardPage.of(rows, size));
+    }
+
+    @Override
+    public Flux<User> getTopUsers(int n) {
+        return Flux.defer(() -> Flux.fromIterable(leaderboardIndex.top(n)));
+    }
+
+    @Override
+    public Mono<User> getUserById(String userId) {
+        return userRepository.findById(userId);
+    }
+
+    @Override
+    public Mono<UserRankDTO> getUserRank(String userId) {
+        return Mono.fromSupplier(() -> {
+            RankedEntry entry = leaderboardIndex.get(userId);
+            return entry == null ? null
+                    : new UserRankDTO(entry.getUserId(), entry.getScore(), entry.getRank(), leaderboardIndex.size());
+        });
+    }
+
+    @Override
+    public Mono<RankWindowDTO> getRankWindow(String userId, int k) {
+        return Mono.fromSupplier(() ->
+                RankWindowDTO.of(userId, leaderboardIndex.around(userId, k), leaderboardIndex.size()).orElse(null));
+    }
+
+    @Override
+    public Mono<UserStatsDTO> getUserStats() {
+        return Mono.fromSupplier(leaderboardStats::snapshot);
+    }
+
+    @Override
+    public Mono<User> registerUser(UserDTO userDTO) {
+        return writeSequencer.runReactive(List.of(userDTO.getUserId()), () ->
+                userRepository.insert(UserServiceImpl.newUser(userDTO))
+                        .onErrorMap(DuplicateKeyException.class,
+                                ex -> new UserAlreadyExistsException("User with ID " + userDTO.getUserId() + " already exists"))
+                        .doOnNext(user -> eventPublisher.publishEvent(UserChangedEvent.saved(user))));
+    }
+
+    @Override
+    public Mono<BulkResult> registerUsers(List<UserDTO> userDTOs) {
+        return Mono.defer(() -> {
+            BulkResult result = new BulkResult();
+            Set<String> seen = new HashSet<>();
+            List<User> valid = new ArrayList<>();
+            for (UserDTO userDTO : userDTOs) {
+                String userId = userDTO.getUserId();
+                if (userId == null || userId.isBlank()) {
+                    result.recordFailure(userId, BulkItemStatus.INVALID, "User ID must not be empty");
+                } else if (userDTO.getUsername() == null || userDTO.getUsername().isBlank()) {
+                    result.recordFailure(userId, BulkItemStatus.INVALID, "Username must not be empty");
+                } else if (!seen.add(userId)) {
+                    result.recordFailure(userId, BulkItemStatus.CONFLICT, "User with ID " + userId + " already exists");
+                } else {
+                    valid.add(UserServiceImpl.newUser(userDTO));
+                }
+            }
+
+            return Flux.fromIterable(valid)
+                    .buffer(bulkBatchSize)
+                    .concatMap(batch -> writeSequencer.runReactive(batch.stream().map(User::getUserId).toList(), () ->
+                            userRepository.insertAllSkippingDuplicates(batch)
+                                    .doOnNext(duplicates -> recordInserted(batch, duplicates, result))))
+                    .then(Mono.just(result));
+        });
+    }
+
+    private void recordInserted(List<User> batch, Set<String> duplicates, BulkResult result) {
+        for (User user : batch) {
+            if (duplicates.contains(user.getUserId())) {
+                result.recordFailure(user.getUserId(), BulkItemStatus.CONFLICT,
+                        "User with ID " + user.getUserId() + " already exists");
+            } else {
+                eventPublisher.publishEvent(UserChangedEvent.saved(user));
+            }
+        }
+        result.recordSuccesses(batch.size() - duplicates.size());
+    }
+
+    @Override
+    public Mono<User> updateUserScore(String userId, int score) {
+        return writeSequencer.runReactive(List.of(userId), () -> userRepository.updateScore(userId, score)
+                .switchIfEmpty(Mono.error(() -> new UserNotFoundException("User with ID " + userId + " does not exist")))
+                .doOnNext(user -> eventPublisher.publishEvent(UserChangedEvent.saved(user))));
+    }
+
+    @Override
+    public Mono<BulkResult> bulkUpdateScores(Flux<ScoreUpdateDTO> updates) {
+        return Mono.defer(() -> {
+            BulkResult result = new BulkResult();
+            return updates
+                    .filter(update -> isValidScoreUpdate(update, result))
+                    .buffer(bulkBatchSize)
+                    .concatMap(batch -> applyScoreBatch(batch, result))
+                    .then(Mono.just(result));
+        });
+    }
+
+    private boolean isValidScoreUpdate(ScoreUpdateDTO update, BulkResult result) {
+        if (update.getUserId() == null || update.getUserId().isBlank()) {
+            result.recordFailure(update.getUserId(), BulkItemStatus.INVALID, "User ID must not be empty");
+            return false;
+        }
+        if (update.getScore() == null || !User.isValidScore(update.getScore())) {
+            result.recordFailure(update.getUserId(), BulkItemStatus.INVALID, "Provided score is invalid");
+            return false;
+        }
+        return true;
+    }
+
+    private Mono<List<User>> applyScoreBatch(List<ScoreUpdateDTO> batch, BulkResult result) {
+        Map<String, Integer> scores = new LinkedHashMap<>();
+        batch.forEach(update -> scores.put(update.getUserId(), update.getScore()));
+
+        return writeSequencer.runReactive(scores.keySet(), () -> userRepository.findExistingIds(scores.keySet())
+                .collect(Collectors.toSet())
+                .flatMap(existing -> {
+                    Map<String, Integer> found = new HashMap<>(scores);
+                    found.keySet().retainAll(existing);
+                    // Only users the write actually reached; one deleted since the existence check is absent
+                    return userRepository.updateScores(found).collectList();
+                })
+                .doOnNext(updated -> {
+                    Set<String> updatedIds = updated.stream().map(User::getUserId).collect(Collectors.toSet());
+                    scores.keySet().stream()
+                            .filter(userId -> !updatedIds.contains(userId))
+                            .forEach(userId -> result.recordFailure(userId, BulkItemStatus.NOT_FOUND,
+                                    "User with ID " + userId + " does not exist"));
+                    result.recordSuccesses(updated.size());
+                    updated.forEach(user -> eventPublisher.publishEvent(UserChangedEvent.saved(user)));
+                }));
+    }
+
+    @Override
+    public Mono<Void> deleteUser(String userId) {
+        return writeSequencer.runReactive(List.of(userId), () -> userRepository.deleteById(userId)
+                .then(Mono.fromRunnable(() -> eventPublisher.publishEvent(UserChangedEvent.deleted(userId)))));
+    }
+}
@@ -0,0 +1,138 @@
+package com.takehome.coderhack.services;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.takehome.coderhack.repositories.UserStore;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Optional write-behind buffer for score updates. Scores are acknowledged from memory, keyed by
+ * userId so a later score replaces an earlier unflushed one, and written to Mongo in bulk every
+ * {@code max-staleness-ms} or as soon as {@code max-buffer-size} users are pending.
+ *
+ * <p>Flushes run on a dedicated thread rather than the shared {@code @Scheduled} one, so a slow
+ * bulk write neither delays the live feed nor waits behind other scheduled jobs.
+ */
+@Component
+public class ScoreWriteBuffer {
+
+    private static final Logger log = LoggerFactory.getLogger(ScoreWriteBuffer.class);
+
+    @Autowired
+    private UserStore userRepository;
+
+    @Value("${coderhack.write-behind.enabled:false}")
+    private boolean enabled = false;
+
+    @Value("${coderhack.write-behind.max-staleness-ms:1000}")
+    private long maxStalenessMs = 1000;
+
+    @Value("${coderhack.write-behind.max-buffer-size:10000}")
+    private int maxBufferSize = 10_000;
+
+    private final Map<String, Integer> pending = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    // Only started when write-behind is enabled
+    private ScheduledExecutorService flusher;
+
+    @PostConstruct
+    void start() {
+        if (enabled) {
+            flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "score-write-behind");
+                thread.setDaemon(true);
+                return thread;
+            });
+            flusher.scheduleWithFixedDelay(this::flush, maxStalenessMs, maxStalenessMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void put(String userId, int score) {
+        pending.put(userId, score);
+        if (pending.size() >= maxBufferSize && !flushLock.isLocked() && flusher != null) {
+            flusher.execute(this::tryFlush);
+        }
+    }
+
+    public Integer pendingScore(String userId) {
+        return pending.get(userId);
+    }
+
+    public void discard(String userId) {
+        pending.remove(userId);
+    }
+
+    public int size() {
+        return pending.size();
+    }
+
+    public void flush() {
+        flushLock.lock();
+        try {
+            flushPending();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        if (flusher != null) {
+            flusher.shutdown();
+            try {
+                flusher.awaitTermination(maxStalenessMs, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (!pending.isEmpty()) {
+            log.info("Flushing {} buffered score updates before shutdown", pending.size());
+            flush();
+        }
+    }
+
+    private void tryFlush() {
+        if (flushLock.tryLock()) {
+            try {
+                flushPending();
+            } finally {
+                flushLock.unlock();
+            }
+        }
+    }
+
+    private void flushPending() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        Map<String, Integer> batch = new HashMap<>(pending);
+        try {
+            userRepository.bulkUpdateScores(batch);
+        } catch (RuntimeException ex) {
+            // Keep everything buffered; the next flush retries with whatever is newest by then
+            log.warn("Flushing {} buffered score updates failed", batch.size(), ex);
+            return;
+        }
+        // Only drop entries that were not overwritten while the write was in flight
+        batch.forEach(pending::remove);
+    }
+}
@@ -1,16 +1,34 @@
 package com.takehome.coderhack.services;
 
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
+import com.takehome.coderhack.dtos.BulkResult;
+import com.takehome.coderhack.dtos.LeaderboardEntry;
+import com.takehome.coderhack.dtos.LeaderboardPage;
+import com.takehome.coderhack.dtos.RankWindowDTO;
+import com.takehome.coderhack.dtos.ScoreUpdateDTO;
 import com.takehome.coderhack.dtos.UserDTO;
+import com.takehome.coderhack.dtos.UserRankDTO;
+import com.takehome.coderhack.dtos.UserStatsDTO;
 import com.takehome.coderhack.entities.User;
 
 public interface UserService {
-    List<User> getAllUsers();
+    List<LeaderboardEntry> getAllUsers(Set<String> fields);
+    Stream<User> streamAllUsers();
+    LeaderboardPage getLeaderboardPage(Integer afterScore, String afterUserId, int size, Set<String> fields);
+    List<User> getTopUsers(int n);
     Optional<User> getUserById(String userId);
+    Optional<UserRankDTO> getUserRank(String userId);
+    Optional<RankWindowDTO> getRankWindow(String userId, int k);
+    UserStatsDTO getUserStats();
     User registerUser(UserDTO user);
+    BulkResult registerUsers(List<UserDTO> users);
     User updateUserScore(String userId, int score);
+    BulkResult bulkUpdateScores(Iterator<ScoreUpdateDTO> updates);
     void deleteUser(String userId);
 }
 
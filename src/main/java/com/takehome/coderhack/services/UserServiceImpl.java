@@ -1,75 +1,326 @@
 package com.takehome.coderhack.services;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 
+import com.takehome.coderhack.config.CacheConfig;
+import com.takehome.coderhack.dtos.BulkItemStatus;
+import com.takehome.coderhack.dtos.BulkResult;
+import com.takehome.coderhack.dtos.LeaderboardCursor;
+import com.takehome.coderhack.dtos.LeaderboardEntry;
+import com.takehome.coderhack.dtos.LeaderboardPage;
+import com.takehome.coderhack.dtos.RankWindowDTO;
+import com.takehome.coderhack.dtos.ScoreUpdateDTO;
 import com.takehome.coderhack.dtos.UserDTO;
+import com.takehome.coderhack.dtos.UserRankDTO;
+import com.takehome.coderhack.dtos.UserStatsDTO;
 import com.takehome.coderhack.entities.Badge;
 import com.takehome.coderhack.entities.User;
+import com.takehome.coderhack.events.UserChangedEvent;
 import com.takehome.coderhack.exceptions.UserAlreadyExistsException;
 import com.takehome.coderhack.exceptions.UserNotFoundException;
-import com.takehome.coderhack.repositories.UserRepository;
+import com.takehome.coderhack.leaderboard.LeaderboardIndex;
+import com.takehome.coderhack.leaderboard.LeaderboardStats;
+import com.takehome.coderhack.leaderboard.RankedEntry;
+import com.takehome.coderhack.repositories.UserStore;
+
+import io.micrometer.core.annotation.Timed;
 
 @Service
+@Timed("coderhack.user.service")
 public class UserServiceImpl implements UserService {
 
     @Autowired
-    private UserRepository userRepository;
+    private UserStore userRepository;
+
+    @Autowired
+    private LeaderboardIndex leaderboardIndex;
+
+    @Autowired
+    private LeaderboardStats leaderboardStats;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ScoreWriteBuffer scoreWriteBuffer;
+
+    @Autowired
+    private UserWriteSequencer writeSequencer;
+
+    @Value("${coderhack.users.max-list-size:1000}")
+    private int maxListSize = 1000;
+
+    @Value("${coderhack.bulk.batch-size:1000}")
+    private int bulkBatchSize = 1000;
+
+    // Concurrent identical reads share one Mongo query; these sit behind the cache, so only misses get here
+    private final SingleFlight<String, Optional<User>> userLookups = new SingleFlight<>("getUserById");
+    private final SingleFlight<Set<String>, List<LeaderboardEntry>> listings = new SingleFlight<>("getAllUsers");
 
     @Override
-    public List<User> getAllUsers() {
-        return userRepository.findAllByOrderByScoreDesc();
+    public List<LeaderboardEntry> getAllUsers(Set<String> fields) {
+        return listings.execute(fields, () -> userRepository.findLeaderboardEntries(null, maxListSize, fields));
     }
 
     @Override
+    public Stream<User> streamAllUsers() {
+        return userRepository.streamAllByOrderByScoreDescUserIdAsc();
+    }
+
+    @Override
+    public LeaderboardPage getLeaderboardPage(Integer afterScore, String afterUserId, int size, Set<String> fields) {
+        LeaderboardCursor after = afterScore == null ? null : new LeaderboardCursor(afterScore, afterUserId);
+        // Fetch one extra row so we know whether a next page exists without a count query
+        return LeaderboardPage.of(userRepository.findLeaderboardEntries(after, size + 1, fields), size);
+    }
+
+    @Override
+    public List<User> getTopUsers(int n) {
+        return leaderboardIndex.top(n);
+    }
+
+    @Override
+    // sync loads through the cache's atomic compute; see UserCacheSynchronizer. Misses are cached
+    // too (sync does not support unless) and are evicted by the registration event like any write
+    @Cacheable(cacheNames = CacheConfig.USERS_CACHE, key = "#userId", sync = true)
     public Optional<User> getUserById(String userId) {
-        return userRepository.findById(userId);
+        return userLookups.execute(userId, () -> loadUser(userId));
+    }
+
+    private Optional<User> loadUser(String userId) {
+        Optional<User> user = userRepository.findById(userId);
+        Integer bufferedScore = scoreWriteBuffer.pendingScore(userId);
+        if (bufferedScore == null) {
+            return user;
+        }
+        // Mongo may still hold an older score; the write-behind buffer has the acknowledged one
+        return user.map(found -> {
+            found.setScore(bufferedScore);
+            found.setBadges(Badge.forScore(bufferedScore));
+            return found;
+        });
+    }
+
+    @Override
+    public Optional<UserRankDTO> getUserRank(String userId) {
+        RankedEntry entry = leaderboardIndex.get(userId);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new UserRankDTO(entry.getUserId(), entry.getScore(), entry.getRank(), leaderboardIndex.size()));
+    }
+
+    @Override
+    public Optional<RankWindowDTO> getRankWindow(String userId, int k) {
+        return RankWindowDTO.of(userId, leaderboardIndex.around(userId, k), leaderboardIndex.size());
+    }
+
+    @Override
+    public UserStatsDTO getUserStats() {
+        return leaderboardStats.snapshot();
     }
 
     @Override
     public User registerUser(UserDTO userDTO) {
-        // Check if user with the same ID already exists
-        if (userRepository.existsById(userDTO.getUserId())) {
-            throw new UserAlreadyExistsException("User with ID " + userDTO.getUserId() + " already exists");
+        return writeSequencer.run(List.of(userDTO.getUserId()), () -> {
+            User savedUser;
+            try {
+                // The _id unique index is the existence check; no separate existsById round trip
+                savedUser = userRepository.insert(newUser(userDTO));
+            } catch (DuplicateKeyException ex) {
+                throw new UserAlreadyExistsException("User with ID " + userDTO.getUserId() + " already exists");
+            }
+            detachReads(List.of(savedUser.getUserId()));
+            eventPublisher.publishEvent(UserChangedEvent.saved(savedUser));
+            return savedUser;
+        });
+    }
+
+    @Override
+    public BulkResult registerUsers(List<UserDTO> userDTOs) {
+        BulkResult result = new BulkResult();
+        Set<String> seen = new HashSet<>();
+        List<User> batch = new ArrayList<>();
+
+        for (UserDTO userDTO : userDTOs) {
+            String userId = userDTO.getUserId();
+            if (userId == null || userId.isBlank()) {
+                result.recordFailure(userId, BulkItemStatus.INVALID, "User ID must not be empty");
+                continue;
+            }
+            if (userDTO.getUsername() == null || userDTO.getUsername().isBlank()) {
+                result.recordFailure(userId, BulkItemStatus.INVALID, "Username must not be empty");
+                continue;
+            }
+            if (!seen.add(userId)) {
+                result.recordFailure(userId, BulkItemStatus.CONFLICT, "User with ID " + userId + " already exists");
+                continue;
+            }
+
+            batch.add(newUser(userDTO));
+            if (batch.size() >= bulkBatchSize) {
+                insertBatch(batch, result);
+                batch.clear();
+            }
         }
+        if (!batch.isEmpty()) {
+            insertBatch(batch, result);
+        }
+        return result;
+    }
 
-        // Create a new User object from the DTO
+    private void insertBatch(List<User> batch, BulkResult result) {
+        List<String> userIds = batch.stream().map(User::getUserId).toList();
+        writeSequencer.run(userIds, () -> {
+            Set<String> duplicates = userRepository.insertAllSkippingDuplicates(batch);
+            detachReads(userIds);
+            for (User user : batch) {
+                if (duplicates.contains(user.getUserId())) {
+                    result.recordFailure(user.getUserId(), BulkItemStatus.CONFLICT,
+                            "User with ID " + user.getUserId() + " already exists");
+                } else {
+                    eventPublisher.publishEvent(UserChangedEvent.saved(user));
+                }
+            }
+            result.recordSuccesses(batch.size() - duplicates.size());
+            return null;
+        });
+    }
+
+    static User newUser(UserDTO userDTO) {
         User user = new User();
         user.setUserId(userDTO.getUserId());
         user.setUsername(userDTO.getUsername());
         user.setScore(0); // Initial score
         user.setBadges(EnumSet.noneOf(Badge.class)); // Initial badges
-
-        return userRepository.save(user);
+        return user;
     }
 
     @Override
     public User updateUserScore(String userId, int score) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new UserNotFoundException("User with ID " + userId + " does not exist"));
-
-        user.setScore(score);
-        user.setBadges(EnumSet.noneOf(Badge.class));
-        
-        if (score >= 1 && score < 30) {
-            user.getBadges().add(Badge.CODE_NINJA);
+        return writeSequencer.run(List.of(userId), () -> {
+            if (scoreWriteBuffer.isEnabled()) {
+                // The index knows every user, so it doubles as the existence check for buffered writes
+                RankedEntry entry = leaderboardIndex.get(userId);
+                if (entry != null) {
+                    scoreWriteBuffer.put(userId, score);
+                    detachReads(List.of(userId));
+                    User user = new User(userId, entry.getUsername(), score, Badge.forScore(score));
+                    eventPublisher.publishEvent(UserChangedEvent.saved(user));
+                    return user;
+                }
+            }
+
+            User user = userRepository.updateScore(userId, score)
+                    .orElseThrow(() -> new UserNotFoundException("User with ID " + userId + " does not exist"));
+
+            detachReads(List.of(userId));
+            eventPublisher.publishEvent(UserChangedEvent.saved(user));
+            return user;
+        });
+    }
+
+    @Override
+    public BulkResult bulkUpdateScores(Iterator<ScoreUpdateDTO> updates) {
+        BulkResult result = new BulkResult();
+        // Keyed by userId so repeated updates for one user within a batch collapse to the last one
+        Map<String, Integer> batch = new LinkedHashMap<>();
+
+        while (updates.hasNext()) {
+            ScoreUpdateDTO update = updates.next();
+            if (update.getUserId() == null || update.getUserId().isBlank()) {
+                result.recordFailure(update.getUserId(), BulkItemStatus.INVALID, "User ID must not be empty");
+                continue;
+            }
+            if (update.getScore() == null || !User.isValidScore(update.getScore())) {
+                result.recordFailure(update.getUserId(), BulkItemStatus.INVALID, "Provided score is invalid");
+                continue;
+            }
+
+            batch.put(update.getUserId(), update.getScore());
+            if (batch.size() >= bulkBatchSize) {
+                applyScoreBatch(batch, result);
+                batch.clear();
+            }
         }
-        if (score >= 30 && score < 60) {
-            user.getBadges().add(Badge.CODE_CHAMP);
+        if (!batch.isEmpty()) {
+            applyScoreBatch(batch, result);
         }
-        if (score >= 60 && score <= 100) {
-            user.getBadges().add(Badge.CODE_MASTER);
+        return result;
+    }
+
+    private void applyScoreBatch(Map<String, Integer> batch, BulkResult result) {
+        writeSequencer.run(batch.keySet(), () -> {
+            writeScoreBatch(batch, result);
+            return null;
+        });
+    }
+
+    private void writeScoreBatch(Map<String, Integer> batch, BulkResult result) {
+        List<User> updated = new ArrayList<>();
+        if (scoreWriteBuffer.isEnabled()) {
+            // As for single updates, the index is the existence check and has the usernames.
+            // Going through the buffer means a pending older score can never be flushed over these
+            batch.forEach((userId, score) -> {
+                RankedEntry entry = leaderboardIndex.get(userId);
+                if (entry != null) {
+                    scoreWriteBuffer.put(userId, score);
+                    updated.add(new User(userId, entry.getUsername(), score, Badge.forScore(score)));
+                }
+            });
+        } else {
+            Set<String> existing = userRepository.findExistingIds(batch.keySet());
+            Map<String, Integer> found = new HashMap<>(batch);
+            found.keySet().retainAll(existing);
+            // Only users the write actually reached; one deleted since the existence check is absent
+            updated.addAll(userRepository.updateScores(found));
         }
-        return userRepository.save(user);
+
+        Set<String> updatedIds = new HashSet<>();
+        updated.forEach(user -> updatedIds.add(user.getUserId()));
+        batch.keySet().stream()
+                .filter(userId -> !updatedIds.contains(userId))
+                .forEach(userId -> result.recordFailure(userId, BulkItemStatus.NOT_FOUND,
+                        "User with ID " + userId + " does not exist"));
+
+        result.recordSuccesses(updated.size());
+        detachReads(updatedIds);
+        updated.forEach(user -> eventPublisher.publishEvent(UserChangedEvent.saved(user)));
     }
 
     @Override
     public void deleteUser(String userId) {
-        userRepository.deleteById(userId);
+        writeSequencer.run(List.of(userId), () -> {
+            scoreWriteBuffer.discard(userId);
+            userRepository.deleteById(userId);
+            detachReads(List.of(userId));
+            eventPublisher.publishEvent(UserChangedEvent.deleted(userId));
+            return null;
+        });
+    }
+
+    // Reads that start after a write returns must not join a load that began before it
+    private void detachReads(Collection<String> userIds) {
+        userIds.forEach(userLookups::forget);
+        listings.forgetAll();
     }
 }
 
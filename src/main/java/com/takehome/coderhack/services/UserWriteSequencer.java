@@ -0,0 +1,76 @@
+package com.takehome.coderhack.services;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Runs writes to the same user one at a time, in the order they arrive, each together with the
+ * event it publishes. Listeners such as the leaderboard index apply events in publish order, so
+ * without this a write that committed first could publish last and leave its stale score (or a
+ * deleted user) in the index. Writes to different users still run in parallel.
+ *
+ * <p>Each write waits only for the previous write to each of its users, not for a lock, so the
+ * same queue serves both the blocking and the reactive service.
+ */
+@Component
+public class UserWriteSequencer {
+
+    // The last admitted write per user; removed again once that write finishes
+    private final ConcurrentHashMap<String, CompletableFuture<Void>> tails = new ConcurrentHashMap<>();
+
+    public <T> T run(Collection<String> userIds, Supplier<T> write) {
+        Turn turn = admit(userIds);
+        try {
+            turn.previous().join();
+            return write.get();
+        } finally {
+            release(turn);
+        }
+    }
+
+    /**
+     * {@link #run} for a write that completes asynchronously. The turn is taken on subscription and
+     * given up when the returned Mono terminates or is cancelled.
+     */
+    public <T> Mono<T> runReactive(Collection<String> userIds, Supplier<Mono<T>> write) {
+        return Mono.defer(() -> {
+            Turn turn = admit(userIds);
+            return Mono.fromFuture(turn.previous())
+                    .then(Mono.defer(write))
+                    .doFinally(signal -> release(turn));
+        });
+    }
+
+    // Synchronized so writes spanning several users queue up in one global order and never wait on each other in a cycle
+    private synchronized Turn admit(Collection<String> requested) {
+        // A copy, so a caller reusing its collection cannot change what gets released, and without
+        // duplicates, which would make a write wait on itself
+        Set<String> userIds = Set.copyOf(requested);
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        List<CompletableFuture<Void>> previous = new ArrayList<>();
+        for (String userId : userIds) {
+            CompletableFuture<Void> tail = tails.put(userId, done);
+            if (tail != null) {
+                previous.add(tail);
+            }
+        }
+        return new Turn(userIds, done, CompletableFuture.allOf(previous.toArray(CompletableFuture[]::new)));
+    }
+
+    private void release(Turn turn) {
+        turn.done().complete(null);
+        turn.userIds().forEach(userId -> tails.remove(userId, turn.done()));
+    }
+
+    private record Turn(Set<String> userIds, CompletableFuture<Void> done, CompletableFuture<Void> previous) {
+    }
+}
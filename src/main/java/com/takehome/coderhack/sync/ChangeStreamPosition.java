@@ -0,0 +1,48 @@
+package com.takehome.coderhack.sync;
+
+import org.bson.BsonDocument;
+
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.OperationType;
+
+/**
+ * Where a change stream should pick up after it is reopened: the last resume token seen, and
+ * whether the stream ended on an invalidate (which {@code resumeAfter} cannot pass but
+ * {@code startAfter} can).
+ */
+public class ChangeStreamPosition {
+
+    private volatile BsonDocument resumeToken;
+    private volatile boolean invalidated;
+
+    public BsonDocument getResumeToken() {
+        return resumeToken;
+    }
+
+    /**
+     * Records a consumed change.
+     *
+     * @return true if the change invalidated the stream and the cursor has to be reopened
+     */
+    public boolean record(ChangeStreamDocument<?> change) {
+        resumeToken = change.getResumeToken();
+        invalidated = change.getOperationType() == OperationType.INVALIDATE;
+        return invalidated;
+    }
+
+    // An empty batch still advances the post-batch token, so reopening does not rescan idle time
+    public void advance(BsonDocument postBatchToken) {
+        if (postBatchToken != null) {
+            resumeToken = postBatchToken;
+        }
+    }
+
+    public <T> ChangeStreamIterable<T> resume(ChangeStreamIterable<T> stream) {
+        BsonDocument token = resumeToken;
+        if (token == null) {
+            return stream;
+        }
+        return invalidated ? stream.startAfter(token) : stream.resumeAfter(token);
+    }
+}
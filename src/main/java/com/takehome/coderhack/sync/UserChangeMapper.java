@@ -0,0 +1,55 @@
+package com.takehome.coderhack.sync;
+
+import java.util.Optional;
+
+import org.bson.Document;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.takehome.coderhack.entities.Badge;
+import com.takehome.coderhack.entities.User;
+import com.takehome.coderhack.events.UserChangedEvent;
+import com.takehome.coderhack.services.ScoreWriteBuffer;
+
+/**
+ * Turns a {@code users} change stream document into the {@link UserChangedEvent} local listeners
+ * understand. Inserts, updates and replaces carry the looked-up full document; deletes only the key.
+ */
+public class UserChangeMapper {
+
+    private final MongoConverter converter;
+    private final ScoreWriteBuffer scoreWriteBuffer;
+
+    public UserChangeMapper(MongoConverter converter, ScoreWriteBuffer scoreWriteBuffer) {
+        this.converter = converter;
+        this.scoreWriteBuffer = scoreWriteBuffer;
+    }
+
+    /**
+     * @return the event to publish, or empty for operations the in-process views do not follow
+     */
+    public Optional<UserChangedEvent> toEvent(ChangeStreamDocument<Document> change) {
+        switch (change.getOperationType()) {
+            case INSERT, UPDATE, REPLACE -> {
+                // Null when the document was deleted before the lookup ran; its delete event follows
+                if (change.getFullDocument() == null) {
+                    return Optional.empty();
+                }
+                User user = converter.read(User.class, change.getFullDocument());
+                // A flush (ours or another node's) may commit an older score than one still buffered here
+                Integer pendingScore = scoreWriteBuffer.pendingScore(user.getUserId());
+                if (pendingScore != null) {
+                    user.setScore(pendingScore);
+                    user.setBadges(Badge.forScore(pendingScore));
+                }
+                return Optional.of(UserChangedEvent.saved(user).asRemote());
+            }
+            case DELETE -> {
+                return Optional.of(UserChangedEvent.deleted(change.getDocumentKey().getString("_id").getValue()).asRemote());
+            }
+            default -> {
+                return Optional.empty();
+            }
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.takehome.coderhack.sync;
+
+import java.util.concurrent.TimeUnit;
+
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import com.takehome.coderhack.entities.User;
+import com.takehome.coderhack.leaderboard.LeaderboardIndex;
+import com.takehome.coderhack.services.ScoreWriteBuffer;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Tails the {@code users} collection's change stream and republishes every insert, update and
+ * delete as a {@link UserChangedEvent}, so the leaderboard index, stats and user cache on this
+ * node also see writes made through other nodes. Our own writes come back through the stream
+ * as well; every listener treats a repeated event as a no-op.
+ *
+ * <p>The stream is opened in the lifecycle phase before the startup rebuild of the in-memory
+ * views and only consumed once the application is ready, so changes made while the rebuild is reading Mongo are applied afterwards instead
+ * of lost. The last resume token is kept, and a dropped stream is reopened from it rather than
+ * forcing a full reload.
+ *
+ * <p>Change streams require a replica set (a single-node one is enough).
+ */
+@Component
+@ConditionalOnProperty(name = "coderhack.change-stream.enabled", havingValue = "true")
+public class UserChangeStreamListener implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(UserChangeStreamListener.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ScoreWriteBuffer scoreWriteBuffer;
+
+    @Value("${coderhack.change-stream.retry-delay-ms:1000}")
+    private long retryDelayMs = 1000;
+
+    private final ChangeStreamPosition position = new ChangeStreamPosition();
+    private UserChangeMapper mapper;
+
+    private volatile boolean running;
+    private MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor;
+    private Thread worker;
+
+    @PostConstruct
+    void init() {
+        mapper = new UserChangeMapper(mongoTemplate.getConverter(), scoreWriteBuffer);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        cursor = openCursor();
+    }
+
+    @Override
+    public int getPhase() {
+        return LeaderboardIndex.REBUILD_PHASE - 1;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void consume() {
+        worker = new Thread(this::run, "users-change-stream");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+            try {
+                worker.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        } else {
+            // Stopped before the application became ready; the cursor was never handed to a worker
+            closeCursor();
+        }
+    }
+
+    public BsonDocument getResumeToken() {
+        return position.getResumeToken();
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                if (cursor == null) {
+                    cursor = openCursor();
+                }
+                ChangeStreamDocument<Document> change = cursor.tryNext();
+                if (change == null) {
+                    // tryNext only returns null after the server-side await
+                    position.advance(cursor.getResumeToken());
+                    continue;
+                }
+
+                mapper.toEvent(change).ifPresent(eventPublisher::publishEvent);
+                if (position.record(change)) {
+                    closeCursor();
+                }
+            } catch (RuntimeException ex) {
+                if (!running) {
+                    break;
+                }
+                log.warn("Change stream on users failed, resuming after {} ms", retryDelayMs, ex);
+                closeCursor();
+                sleepBeforeRetry();
+            }
+        }
+        closeCursor();
+    }
+
+    private MongoChangeStreamCursor<ChangeStreamDocument<Document>> openCursor() {
+        ChangeStreamIterable<Document> stream = mongoTemplate.getCollection(mongoTemplate.getCollectionName(User.class))
+                .watch()
+                .fullDocument(FullDocument.UPDATE_LOOKUP);
+        return position.resume(stream).cursor();
+    }
+
+    private void closeCursor() {
+        if (cursor != null) {
+            try {
+                cursor.close();
+            } catch (RuntimeException ex) {
+                log.debug("Ignoring failure while closing change stream cursor", ex);
+            }
+            cursor = null;
+        }
+    }
+
+    private void sleepBeforeRetry() {
+        try {
+            Thread.sleep(retryDelayMs);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
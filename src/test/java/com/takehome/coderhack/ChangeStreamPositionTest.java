@@ -0,0 +1,85 @@
+package com.takehome.coderhack;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.OperationType;
+import com.takehome.coderhack.sync.ChangeStreamPosition;
+
+class ChangeStreamPositionTest {
+
+    private final ChangeStreamPosition position = new ChangeStreamPosition();
+
+    @Test
+    void testFirstOpenStartsFromNow() {
+        ChangeStreamIterable<Document> stream = stream();
+
+        assertSame(stream, position.resume(stream));
+        verify(stream, never()).resumeAfter(any());
+        verify(stream, never()).startAfter(any());
+    }
+
+    @Test
+    void testReopenResumesAfterLastChange() {
+        ChangeStreamIterable<Document> stream = stream();
+        BsonDocument token = token("1");
+
+        assertFalse(position.record(change(OperationType.UPDATE, token)));
+        position.resume(stream);
+
+        verify(stream).resumeAfter(token);
+        verify(stream, never()).startAfter(any());
+    }
+
+    @Test
+    void testReopenAfterInvalidateUsesStartAfter() {
+        ChangeStreamIterable<Document> stream = stream();
+        BsonDocument token = token("2");
+
+        assertTrue(position.record(change(OperationType.INVALIDATE, token)));
+        position.resume(stream);
+
+        verify(stream).startAfter(token);
+        verify(stream, never()).resumeAfter(any());
+    }
+
+    @Test
+    void testEmptyBatchAdvancesToken() {
+        ChangeStreamIterable<Document> stream = stream();
+        position.record(change(OperationType.INSERT, token("1")));
+
+        position.advance(token("3"));
+        position.advance(null);
+        position.resume(stream);
+
+        assertEquals(token("3"), position.getResumeToken());
+        verify(stream).resumeAfter(token("3"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ChangeStreamIterable<Document> stream() {
+        ChangeStreamIterable<Document> stream = mock(ChangeStreamIterable.class);
+        lenient().when(stream.resumeAfter(any())).thenReturn(stream);
+        lenient().when(stream.startAfter(any())).thenReturn(stream);
+        return stream;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ChangeStreamDocument<Document> change(OperationType type, BsonDocument token) {
+        ChangeStreamDocument<Document> change = mock(ChangeStreamDocument.class);
+        when(change.getOperationType()).thenReturn(type);
+        when(change.getResumeToken()).thenReturn(token);
+        return change;
+    }
+
+    private static BsonDocument token(String data) {
+        return new BsonDocument("_data", new BsonString(data));
+    }
+}
@@ -0,0 +1,74 @@
+package com.takehome.coderhack;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.takehome.coderhack.dtos.ContestStandingDTO;
+import com.takehome.coderhack.leaderboard.ContestLeaderboards;
+
+class ContestLeaderboardsTest {
+
+    private ContestLeaderboards leaderboards;
+
+    @BeforeEach
+    void setUp() {
+        leaderboards = new ContestLeaderboards();
+        leaderboards.put("spring", "alice", "Alice", 80);
+        leaderboards.put("spring", "bob", "Bob", 50);
+        leaderboards.put("summer", "alice", "Alice", 60);
+        leaderboards.put("summer", "carol", "Carol", 80);
+    }
+
+    @Test
+    void testPartitionsAreRankedIndependently() {
+        assertEquals(1, leaderboards.get("spring", "alice").getRank());
+        assertEquals(2, leaderboards.get("summer", "alice").getRank());
+        assertNull(leaderboards.get("spring", "carol"));
+        assertEquals(0, leaderboards.size("autumn"));
+        assertTrue(leaderboards.top("autumn", 5).isEmpty());
+    }
+
+    @Test
+    void testGlobalTop_MergesAcrossContests() {
+        List<ContestStandingDTO> top = leaderboards.globalTop(3);
+
+        assertEquals(3, top.size());
+        assertEquals("alice", top.get(0).getUserId());
+        assertEquals("spring", top.get(0).getContestId());
+        assertEquals("carol", top.get(1).getUserId());
+        assertEquals("alice", top.get(2).getUserId());
+        assertEquals("summer", top.get(2).getContestId());
+        assertEquals(3, top.get(2).getRank());
+    }
+
+    @Test
+    void testGlobalTop_ForksOverManyContests() {
+        for (int contest = 0; contest < 50; contest++) {
+            for (int user = 0; user < 10; user++) {
+                leaderboards.put("c" + contest, "u" + user, null, (contest * 7 + user * 3) % 101);
+            }
+        }
+
+        List<ContestStandingDTO> top = leaderboards.globalTop(25);
+
+        assertEquals(25, top.size());
+        for (int i = 1; i < top.size(); i++) {
+            assertTrue(top.get(i - 1).getScore() >= top.get(i).getScore());
+            assertEquals(i + 1, top.get(i).getRank());
+        }
+        assertEquals(100, top.get(0).getScore());
+    }
+
+    @Test
+    void testRemoveUser_LeavesEveryContest() {
+        leaderboards.removeUser("alice");
+
+        assertNull(leaderboards.get("spring", "alice"));
+        assertNull(leaderboards.get("summer", "alice"));
+        assertEquals(1, leaderboards.get("summer", "carol").getRank());
+    }
+}
@@ -0,0 +1,114 @@
+package com.takehome.coderhack;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Path;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.takehome.coderhack.dtos.LeaderboardCursor;
+import com.takehome.coderhack.dtos.LeaderboardEntry;
+import com.takehome.coderhack.entities.Badge;
+import com.takehome.coderhack.entities.User;
+import com.takehome.coderhack.repositories.embedded.EmbeddedUserRepository;
+
+class EmbeddedUserRepositoryTest {
+
+    @TempDir
+    Path dataDir;
+
+    private EmbeddedUserRepository repository;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        repository = open();
+        repository.insert(new User("alice", "Alice"));
+        repository.insert(new User("bob", "Bob"));
+        repository.insert(new User("carol", "Carol"));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        repository.close();
+    }
+
+    @Test
+    void testInsertRejectsDuplicate() {
+        assertThrows(DuplicateKeyException.class, () -> repository.insert(new User("alice", "Other Alice")));
+    }
+
+    @Test
+    void testUpdateScoreKeepsLeaderboardOrder() {
+        repository.updateScore("bob", 70);
+        repository.updateScore("carol", 40);
+
+        User bob = repository.findById("bob").orElseThrow();
+        assertEquals(EnumSet.of(Badge.CODE_MASTER), bob.getBadges());
+        assertEquals(List.of("bob", "carol", "alice"), ids());
+        assertTrue(repository.updateScore("nobody", 10).isEmpty());
+    }
+
+    @Test
+    void testUpdateScoresReturnsOnlyUpdatedUsers() {
+        List<User> updated = repository.updateScores(Map.of("bob", 70, "nobody", 10));
+
+        assertEquals(1, updated.size());
+        assertEquals("Bob", updated.get(0).getUsername());
+        assertEquals(70, updated.get(0).getScore());
+        assertEquals(List.of("bob", "alice", "carol"), ids());
+    }
+
+    @Test
+    void testKeysetPageContinuesAfterCursor() {
+        repository.bulkUpdateScores(Map.of("alice", 50, "bob", 50, "carol", 20));
+
+        List<LeaderboardEntry> page = repository.findLeaderboardEntries(
+                new LeaderboardCursor(50, "alice"), 10, LeaderboardEntry.FIELDS);
+
+        assertEquals(List.of("bob", "carol"), page.stream().map(LeaderboardEntry::getUserId).collect(Collectors.toList()));
+    }
+
+    @Test
+    void testReopenRestoresLoggedAndSnapshottedChanges() throws Exception {
+        repository.snapshot();
+        repository.updateScore("alice", 90);
+        repository.deleteById("carol");
+        // Simulate a crash: reopen from the files without a clean shutdown
+        EmbeddedUserRepository reopened = open();
+
+        assertEquals(2, reopened.count());
+        assertEquals(90, reopened.findById("alice").orElseThrow().getScore());
+        assertFalse(reopened.existsById("carol"));
+        assertEquals("Bob", reopened.findById("bob").orElseThrow().getUsername());
+        reopened.close();
+    }
+
+    @Test
+    void testReturnedUsersAreCopies() {
+        User alice = repository.findById("alice").orElseThrow();
+        alice.setScore(99);
+
+        assertEquals(0, repository.findById("alice").orElseThrow().getScore());
+    }
+
+    private EmbeddedUserRepository open() throws Exception {
+        EmbeddedUserRepository opened = new EmbeddedUserRepository();
+        ReflectionTestUtils.setField(opened, "dataDir", dataDir.toString());
+        ReflectionTestUtils.setField(opened, "logSizeMb", 1);
+        opened.open();
+        return opened;
+    }
+
+    private List<String> ids() {
+        return repository.findAll().stream().map(User::getUserId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,143 @@
+package com.takehome.coderhack;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.takehome.coderhack.leaderboard.LeaderboardFeed;
+import com.takehome.coderhack.leaderboard.LeaderboardIndex;
+import com.takehome.coderhack.leaderboard.RankedEntry;
+
+@ExtendWith(MockitoExtension.class)
+class LeaderboardFeedTest {
+
+    @Mock
+    private LeaderboardIndex leaderboardIndex;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private RecordingFeed feed;
+
+    @AfterEach
+    void tearDown() {
+        feed.shutdown();
+    }
+
+    @Test
+    void testPublishSendsOnlyChangedAndRemovedEntries() throws Exception {
+        feed = feed(Runnable::run);
+        when(leaderboardIndex.version()).thenReturn(1L, 2L, 3L);
+        when(leaderboardIndex.range(1, 10)).thenReturn(
+                List.of(entry("alice", 90, 1), entry("bob", 80, 2), entry("carol", 70, 3)),
+                List.of(entry("alice", 90, 1), entry("carol", 85, 2), entry("dave", 75, 3)),
+                List.of(entry("alice", 90, 1), entry("carol", 85, 2), entry("dave", 75, 3)));
+
+        feed.subscribe();
+        Sent snapshot = feed.next();
+        assertEquals("snapshot", snapshot.event());
+        assertEquals(List.of("alice", "bob", "carol"), userIds(objectMapper.readTree(snapshot.json())));
+
+        feed.publish();
+        Sent delta = feed.next();
+        assertEquals("delta", delta.event());
+        JsonNode json = objectMapper.readTree(delta.json());
+        assertEquals(2, json.get("version").asLong());
+        assertEquals(List.of("carol", "dave"), userIds(json.get("changed")));
+        assertEquals("bob", json.get("removed").get(0).asText());
+        assertEquals(1, json.get("removed").size());
+
+        // A new version with the same top N sends nothing
+        feed.publish();
+        assertNull(feed.sent.poll());
+    }
+
+    @Test
+    void testSlowSubscriberCatchesUpWithLatestSnapshot() throws Exception {
+        feed = feed(Executors.newVirtualThreadPerTaskExecutor());
+        feed.gate = new CountDownLatch(1);
+        when(leaderboardIndex.version()).thenReturn(1L, 2L, 3L);
+        when(leaderboardIndex.range(1, 10)).thenReturn(
+                List.of(entry("alice", 90, 1)),
+                List.of(entry("bob", 95, 1), entry("alice", 90, 2)),
+                List.of(entry("carol", 99, 1), entry("bob", 95, 2), entry("alice", 90, 3)));
+
+        feed.subscribe();
+        // The first send is now stuck, so both updates below find the subscriber busy
+        assertEquals("snapshot", feed.next().event());
+        feed.publish();
+        feed.publish();
+        feed.gate.countDown();
+
+        Sent catchUp = feed.next();
+        assertEquals("snapshot", catchUp.event());
+        assertEquals(List.of("carol", "bob", "alice"), userIds(objectMapper.readTree(catchUp.json())));
+        assertNull(feed.sent.poll(200, TimeUnit.MILLISECONDS));
+    }
+
+    private RecordingFeed feed(Executor sender) {
+        RecordingFeed recordingFeed = new RecordingFeed(sender);
+        ReflectionTestUtils.setField(recordingFeed, "leaderboardIndex", leaderboardIndex);
+        ReflectionTestUtils.setField(recordingFeed, "objectMapper", objectMapper);
+        return recordingFeed;
+    }
+
+    private static RankedEntry entry(String userId, int score, long rank) {
+        return new RankedEntry(userId, userId, score, 0, rank);
+    }
+
+    private static List<String> userIds(JsonNode entries) {
+        List<String> userIds = new ArrayList<>();
+        entries.forEach(entry -> userIds.add(entry.get("userId").asText()));
+        return userIds;
+    }
+
+    private record Sent(String event, String json) {
+    }
+
+    private static class RecordingFeed extends LeaderboardFeed {
+
+        final BlockingQueue<Sent> sent = new LinkedBlockingQueue<>();
+        volatile CountDownLatch gate;
+
+        RecordingFeed(Executor sender) {
+            super(sender);
+        }
+
+        @Override
+        protected void send(SseEmitter emitter, String event, String json) throws IOException {
+            sent.add(new Sent(event, json));
+            if (gate != null) {
+                try {
+                    gate.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        Sent next() throws InterruptedException {
+            Sent next = sent.poll(5, TimeUnit.SECONDS);
+            assertNotNull(next, "Nothing was sent");
+            return next;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.takehome.coderhack;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.takehome.coderhack.dtos.LeaderboardEntry;
+import com.takehome.coderhack.entities.Badge;
+import com.takehome.coderhack.entities.User;
+import com.takehome.coderhack.json.LeaderboardJsonComponents;
+
+class LeaderboardJsonComponentsTest {
+
+    private final ObjectMapper reflective = new ObjectMapper();
+    private final ObjectMapper handWritten = new ObjectMapper().registerModule(new SimpleModule()
+            .addSerializer(User.class, new LeaderboardJsonComponents.UserSerializer())
+            .addSerializer(LeaderboardEntry.class, new LeaderboardJsonComponents.LeaderboardEntrySerializer()));
+
+    @Test
+    void testUserOutputMatchesReflectiveSerialization() throws Exception {
+        List<User> users = List.of(
+                new User("user1", "User One", 75, Badge.forScore(75)),
+                new User("user2", null, 0, new HashSet<>()),
+                new User("user3", "User \"Three\"", 10, null));
+
+        assertEquals(reflective.writeValueAsString(users), handWritten.writeValueAsString(users));
+    }
+
+    @Test
+    void testLeaderboardEntryOmitsUnselectedFields() throws Exception {
+        List<LeaderboardEntry> entries = List.of(
+                new LeaderboardEntry("user1", "User One", 45, EnumSet.of(Badge.CODE_CHAMP)),
+                new LeaderboardEntry("user2", null, 45, null));
+
+        assertEquals(reflective.writeValueAsString(entries), handWritten.writeValueAsString(entries));
+    }
+}
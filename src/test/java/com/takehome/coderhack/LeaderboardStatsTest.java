@@ -0,0 +1,57 @@
+package com.takehome.coderhack;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import com.takehome.coderhack.dtos.UserStatsDTO;
+import com.takehome.coderhack.entities.Badge;
+import com.takehome.coderhack.leaderboard.LeaderboardStats;
+
+class LeaderboardStatsTest {
+
+    @Test
+    void testRecord_TracksMovesBetweenBuckets() {
+        LeaderboardStats stats = new LeaderboardStats();
+        stats.record(null, 0);
+        stats.record(null, 10);
+        stats.record(null, 70);
+        stats.record(10, 45);
+        stats.record(70, null);
+
+        UserStatsDTO snapshot = stats.snapshot();
+
+        assertEquals(2, snapshot.getTotalUsers());
+        assertEquals(1, snapshot.getHistogram()[0]);
+        assertEquals(0, snapshot.getHistogram()[10]);
+        assertEquals(1, snapshot.getHistogram()[45]);
+        assertEquals(0, snapshot.getBadgeCounts().get(Badge.CODE_NINJA));
+        assertEquals(1, snapshot.getBadgeCounts().get(Badge.CODE_CHAMP));
+        assertEquals(0, snapshot.getBadgeCounts().get(Badge.CODE_MASTER));
+        assertEquals(22.5, snapshot.getAverageScore());
+    }
+
+    @Test
+    void testSnapshot_Percentiles() {
+        LeaderboardStats stats = new LeaderboardStats();
+        for (int score = 1; score <= 100; score++) {
+            stats.record(null, score);
+        }
+
+        UserStatsDTO snapshot = stats.snapshot();
+
+        assertEquals(50, snapshot.getPercentiles().get("p50"));
+        assertEquals(90, snapshot.getPercentiles().get("p90"));
+        assertEquals(99, snapshot.getPercentiles().get("p99"));
+    }
+
+    @Test
+    void testReset() {
+        LeaderboardStats stats = new LeaderboardStats();
+        stats.record(null, 80);
+        stats.reset();
+
+        assertEquals(0, stats.snapshot().getTotalUsers());
+        assertEquals(0, stats.snapshot().getPercentiles().get("p50"));
+    }
+}
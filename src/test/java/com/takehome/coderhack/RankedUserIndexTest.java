@@ -0,0 +1,178 @@
+package com.takehome.coderhack;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.takehome.coderhack.leaderboard.RankedEntry;
+import com.takehome.coderhack.leaderboard.RankedUserIndex;
+
+class RankedUserIndexTest {
+
+    private RankedUserIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new RankedUserIndex();
+        index.put("alice", "Alice", 80);
+        index.put("bob", "Bob", 50);
+        index.put("carol", "Carol", 80);
+        index.put("dave", "Dave", 10);
+    }
+
+    @Test
+    void testRank_OrdersByScoreThenUserId() {
+        assertEquals(1, index.rank("alice"));
+        assertEquals(2, index.rank("carol"));
+        assertEquals(3, index.rank("bob"));
+        assertEquals(4, index.rank("dave"));
+        assertEquals(-1, index.rank("nobody"));
+    }
+
+    @Test
+    void testPut_MovesExistingUserAndKeepsUsername() {
+        Integer previous = index.put("dave", null, 95);
+
+        assertEquals(10, previous);
+        assertEquals(1, index.rank("dave"));
+        assertEquals("Dave", index.get("dave").getUsername());
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    void testRemove() {
+        assertEquals(80, index.remove("alice"));
+        assertNull(index.remove("alice"));
+
+        assertEquals(1, index.rank("carol"));
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void testRange() {
+        List<RankedEntry> window = index.range(2, 2);
+
+        assertEquals(2, window.size());
+        assertEquals("carol", window.get(0).getUserId());
+        assertEquals(2, window.get(0).getRank());
+        assertEquals("bob", window.get(1).getUserId());
+        assertEquals(3, window.get(1).getRank());
+        assertEquals(1, index.top(1).size());
+        assertTrue(index.range(10, 5).isEmpty());
+    }
+
+    @Test
+    void testAround() {
+        List<RankedEntry> window = index.around("carol", 1);
+
+        assertEquals(3, window.size());
+        assertEquals("alice", window.get(0).getUserId());
+        assertEquals("carol", window.get(1).getUserId());
+        assertEquals(2, window.get(1).getRank());
+        assertEquals("bob", window.get(2).getUserId());
+        assertEquals(2, index.around("alice", 1).size());
+        assertTrue(index.around("nobody", 1).isEmpty());
+    }
+
+    // Drives tens of thousands of random puts and removes against a TreeSet model. The pool is large
+    // enough to grow the columns and the slot table several times, and a draining phase in the middle
+    // frees slots that the last phase reuses.
+    @Test
+    void testRandomOperationsMatchSortedModel() {
+        RankedUserIndex randomized = new RankedUserIndex();
+        Random random = new Random(42);
+        Map<String, Integer> scores = new HashMap<>();
+        Map<String, String> usernames = new HashMap<>();
+        TreeSet<String> ordered = new TreeSet<>((a, b) -> {
+            int c = Integer.compare(scores.get(b), scores.get(a));
+            return c != 0 ? c : a.compareTo(b);
+        });
+        int peak = 0;
+        int trough = Integer.MAX_VALUE;
+
+        int operations = 60_000;
+        for (int op = 1; op <= operations; op++) {
+            // Fill, drain, then refill
+            int putPercent = op <= operations / 3 || op > 2 * operations / 3 ? 80 : 10;
+            String userId = "user" + random.nextInt(5_000);
+
+            if (random.nextInt(100) < putPercent) {
+                int score = random.nextInt(101);
+                String username = random.nextInt(5) == 0 ? null : "name" + random.nextInt(1_000);
+                Integer previous = scores.get(userId);
+                if (previous != null) {
+                    ordered.remove(userId);
+                }
+                scores.put(userId, score);
+                ordered.add(userId);
+                if (username != null || previous == null) {
+                    usernames.put(userId, username);
+                }
+                assertEquals(previous, randomized.put(userId, username, score));
+            } else {
+                Integer previous = scores.get(userId);
+                if (previous != null) {
+                    ordered.remove(userId);
+                    scores.remove(userId);
+                    usernames.remove(userId);
+                }
+                assertEquals(previous, randomized.remove(userId));
+            }
+
+            if (op > operations / 3) {
+                trough = Math.min(trough, ordered.size());
+            }
+            peak = Math.max(peak, ordered.size());
+            if (op % 500 == 0) {
+                assertMatchesModel(randomized, new ArrayList<>(ordered), scores, usernames, random);
+            }
+        }
+
+        assertTrue(peak > 2_048, "peak " + peak);
+        assertTrue(trough < peak / 4, "trough " + trough);
+    }
+
+    private static void assertMatchesModel(RankedUserIndex randomized, List<String> expected,
+                                           Map<String, Integer> scores, Map<String, String> usernames, Random random) {
+        assertEquals(expected.size(), randomized.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(i + 1, randomized.rank(expected.get(i)), expected.get(i));
+        }
+        assertEquals(-1, randomized.rank("missing"));
+
+        assertWindow(expected, 1, 25, randomized.top(25), scores, usernames);
+
+        long fromRank = 1 + random.nextInt(expected.size() + 10);
+        assertWindow(expected, fromRank, 40, randomized.range(fromRank, 40), scores, usernames);
+
+        if (!expected.isEmpty()) {
+            long rank = 1 + random.nextInt(expected.size());
+            int k = random.nextInt(6);
+            long from = Math.max(1, rank - k);
+            List<RankedEntry> window = randomized.around(expected.get((int) rank - 1), k);
+            assertWindow(expected, from, (int) (rank + k - from + 1), window, scores, usernames);
+        }
+    }
+
+    private static void assertWindow(List<String> expected, long fromRank, int count, List<RankedEntry> window,
+                                     Map<String, Integer> scores, Map<String, String> usernames) {
+        int from = (int) Math.min(fromRank - 1, expected.size());
+        List<String> expectedIds = expected.subList(from, Math.min(expected.size(), from + count));
+        assertEquals(expectedIds.size(), window.size());
+        for (int i = 0; i < window.size(); i++) {
+            RankedEntry entry = window.get(i);
+            assertEquals(expectedIds.get(i), entry.getUserId());
+            assertEquals(fromRank + i, entry.getRank());
+            assertEquals(scores.get(entry.getUserId()), entry.getScore());
+            assertEquals(usernames.get(entry.getUserId()), entry.getUsername());
+        }
+    }
+}
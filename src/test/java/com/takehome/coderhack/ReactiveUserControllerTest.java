@@ -0,0 +1,337 @@
+package com.takehome.coderhack;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import com.takehome.coderhack.controllers.ReactiveUserController;
+import com.takehome.coderhack.dtos.BulkResult;
+import com.takehome.coderhack.dtos.LeaderboardEntry;
+import com.takehome.coderhack.dtos.RankWindowDTO;
+import com.takehome.coderhack.dtos.ScoreUpdateDTO;
+import com.takehome.coderhack.dtos.UserDTO;
+import com.takehome.coderhack.entities.Badge;
+import com.takehome.coderhack.entities.User;
+import com.takehome.coderhack.exceptions.UserAlreadyExistsException;
+import com.takehome.coderhack.exceptions.UserNotFoundException;
+import com.takehome.coderhack.leaderboard.RankedEntry;
+import com.takehome.coderhack.services.ReactiveUserService;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@WebFluxTest(ReactiveUserController.class)
+@ActiveProfiles("reactive")
+class ReactiveUserControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockBean
+    private ReactiveUserService userService;
+
+    @Test
+    void testGetAllUsers_SelectedFieldsAlwaysIncludeIdAndScore() {
+        when(userService.getAllUsers(Set.of("userId", "score", "badges")))
+                .thenReturn(Flux.just(new LeaderboardEntry("user123", null, 0, EnumSet.noneOf(Badge.class))));
+
+        webTestClient.get().uri("/users?fields=badges")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].userId").isEqualTo("user123")
+                .jsonPath("$[0].username").doesNotExist();
+    }
+
+    @Test
+    void testGetAllUsers_RejectsUnknownField() {
+        webTestClient.get().uri("/users?fields=password")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verify(userService, never()).getAllUsers(any());
+    }
+
+    @Test
+    void testGetUserById() {
+        when(userService.getUserById("user123")).thenReturn(Mono.just(new User("user123", "John Doe")));
+
+        webTestClient.get().uri("/users/user123")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.userId").isEqualTo("user123")
+                .jsonPath("$.username").isEqualTo("John Doe");
+    }
+
+    @Test
+    void testGetUserById_NotFound() {
+        when(userService.getUserById("missing")).thenReturn(Mono.empty());
+
+        webTestClient.get().uri("/users/missing")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody(String.class).isEqualTo("Provided userId does not exist.");
+    }
+
+    @Test
+    void testGetUserRank_NotFound() {
+        when(userService.getUserRank("missing")).thenReturn(Mono.empty());
+
+        webTestClient.get().uri("/users/missing/rank")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void testGetRankWindow() {
+        RankedEntry above = new RankedEntry("user456", "Jane Doe", 90, 0, 1);
+        RankedEntry self = new RankedEntry("user123", "John Doe", 40, 0, 2);
+        when(userService.getRankWindow("user123", 1))
+                .thenReturn(Mono.just(new RankWindowDTO(self, 2, List.of(above), List.of())));
+
+        webTestClient.get().uri("/users/user123/around?k=1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.user.rank").isEqualTo(2)
+                .jsonPath("$.above[0].userId").isEqualTo("user456")
+                .jsonPath("$.below.length()").isEqualTo(0);
+    }
+
+    @Test
+    void testGetRankWindow_NotFound() {
+        when(userService.getRankWindow("missing", 5)).thenReturn(Mono.empty());
+
+        webTestClient.get().uri("/users/missing/around")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void testGetRankWindow_RejectsOutOfRangeK() {
+        webTestClient.get().uri("/users/user123/around?k=-1")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verify(userService, never()).getRankWindow(any(), anyInt());
+    }
+
+    @Test
+    void testGetTopUsers_KeepsLeaderboardOrder() {
+        User first = new User("user456", "Jane Doe");
+        first.setScore(90);
+        User second = new User("user123", "John Doe");
+        second.setScore(40);
+
+        when(userService.getTopUsers(2)).thenReturn(Flux.just(first, second));
+
+        webTestClient.get().uri("/users/top?n=2")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[0].userId").isEqualTo("user456")
+                .jsonPath("$[0].score").isEqualTo(90)
+                .jsonPath("$[1].userId").isEqualTo("user123")
+                .jsonPath("$[1].score").isEqualTo(40);
+    }
+
+    @Test
+    void testGetTopUsers_RejectsOutOfRangeN() {
+        webTestClient.get().uri("/users/top?n=0")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verify(userService, never()).getTopUsers(anyInt());
+    }
+
+    @Test
+    void testGetLeaderboardPage_RequiresBothCursorFields() {
+        webTestClient.get().uri("/users/leaderboard?afterScore=50")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody(String.class).isEqualTo("afterScore and afterUserId must be provided together");
+
+        verify(userService, never()).getLeaderboardPage(any(), any(), anyInt(), any());
+    }
+
+    @Test
+    void testRegisterUser() {
+        UserDTO userDTO = new UserDTO();
+        userDTO.setUserId("user123");
+        userDTO.setUsername("John Doe");
+
+        when(userService.registerUser(userDTO)).thenReturn(Mono.just(new User("user123", "John Doe")));
+
+        webTestClient.post().uri("/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(userDTO)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.userId").isEqualTo("user123")
+                .jsonPath("$.score").isEqualTo(0);
+    }
+
+    @Test
+    void testRegisterUser_ValidationError() {
+        UserDTO userDTO = new UserDTO();
+        userDTO.setUserId("");
+        userDTO.setUsername("John Doe");
+
+        webTestClient.post().uri("/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(userDTO)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.userId").isEqualTo("User ID must not be empty");
+
+        verify(userService, never()).registerUser(any());
+    }
+
+    @Test
+    void testRegisterUser_AlreadyExists() {
+        UserDTO userDTO = new UserDTO();
+        userDTO.setUserId("user123");
+        userDTO.setUsername("John Doe");
+
+        when(userService.registerUser(userDTO))
+                .thenReturn(Mono.error(new UserAlreadyExistsException("User with ID user123 already exists")));
+
+        webTestClient.post().uri("/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(userDTO)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody(String.class).isEqualTo("User with ID user123 already exists");
+    }
+
+    @Test
+    void testUpdateUserScore() {
+        User updated = new User("user123", "John Doe");
+        updated.setScore(50);
+
+        when(userService.updateUserScore("user123", 50)).thenReturn(Mono.just(updated));
+
+        webTestClient.put().uri("/users/user123?score=50")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.score").isEqualTo(50);
+    }
+
+    @Test
+    void testUpdateUserScoreWithRank() {
+        User updated = new User("user123", "John Doe");
+        updated.setScore(50);
+        RankedEntry self = new RankedEntry("user123", "John Doe", 50, 0, 1);
+
+        when(userService.updateUserScore("user123", 50)).thenReturn(Mono.just(updated));
+        when(userService.getRankWindow("user123", 0)).thenReturn(Mono.just(new RankWindowDTO(self, 1, List.of(), List.of())));
+
+        webTestClient.put().uri("/users/user123?score=50&withRank=true")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.user.score").isEqualTo(50)
+                .jsonPath("$.user.rank").isEqualTo(1)
+                .jsonPath("$.totalUsers").isEqualTo(1);
+    }
+
+    @Test
+    void testUpdateUserScoreWithRank_NotFound() {
+        when(userService.updateUserScore("missing", 50))
+                .thenReturn(Mono.error(new UserNotFoundException("User with ID missing does not exist")));
+        when(userService.getRankWindow("missing", 0)).thenReturn(Mono.empty());
+
+        webTestClient.put().uri("/users/missing?score=50&withRank=true")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void testUpdateUserScore_InvalidScore() {
+        webTestClient.put().uri("/users/user123?score=101")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody(String.class).isEqualTo("Provided score is invalid");
+
+        verify(userService, never()).updateUserScore(any(), anyInt());
+    }
+
+    @Test
+    void testUpdateUserScore_NotFound() {
+        when(userService.updateUserScore("missing", 50))
+                .thenReturn(Mono.error(new UserNotFoundException("User with ID missing does not exist")));
+
+        webTestClient.put().uri("/users/missing?score=50")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void testBulkUpdateScores_Ndjson() {
+        BulkResult result = new BulkResult();
+        result.recordSuccesses(2);
+        when(userService.bulkUpdateScores(any())).thenReturn(Mono.just(result));
+
+        webTestClient.post().uri("/users/scores/bulk")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .bodyValue("{\"userId\":\"user123\",\"score\":50}\n{\"userId\":\"user456\",\"score\":70}\n")
+                .exchange()
+                .expectStatus().isOk();
+
+        verify(userService).bulkUpdateScores(any());
+    }
+
+    @Test
+    void testBulkUpdateScores_NdjsonSkipsMalformedLines() {
+        when(userService.bulkUpdateScores(any())).thenAnswer(invocation -> {
+            Flux<ScoreUpdateDTO> updates = invocation.getArgument(0);
+            return updates.collectList().map(applied -> {
+                BulkResult result = new BulkResult();
+                result.recordSuccesses(applied.size());
+                return result;
+            });
+        });
+
+        webTestClient.post().uri("/users/scores/bulk")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .bodyValue("{\"userId\":\"user123\",\"score\":50}\n"
+                        + "{\"userId\":\"user456\",\"score\":\"high\"}\n"
+                        + "\n"
+                        + "{\"userId\":\"user789\",\"score\":70}\n")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.succeeded").isEqualTo(2)
+                .jsonPath("$.failed").isEqualTo(1)
+                .jsonPath("$.failures[0].userId").isEqualTo("user456")
+                .jsonPath("$.failures[0].status").isEqualTo("INVALID")
+                .jsonPath("$.failures[0].message").isEqualTo("Line 2 is not a valid score update");
+    }
+
+    @Test
+    void testDeleteUser() {
+        when(userService.deleteUser("user123")).thenReturn(Mono.empty());
+
+        webTestClient.delete().uri("/users/user123")
+                .exchange()
+                .expectStatus().isNoContent();
+
+        verify(userService).deleteUser("user123");
+    }
+}
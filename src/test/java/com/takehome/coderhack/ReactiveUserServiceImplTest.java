@@ -0,0 +1,305 @@
+package com.takehome.coderhack;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+
+import com.takehome.coderhack.dtos.BulkItemStatus;
+import com.takehome.coderhack.dtos.LeaderboardCursor;
+import com.takehome.coderhack.dtos.LeaderboardEntry;
+import com.takehome.coderhack.dtos.ScoreUpdateDTO;
+import com.takehome.coderhack.dtos.UserDTO;
+import com.takehome.coderhack.entities.Badge;
+import com.takehome.coderhack.entities.User;
+import com.takehome.coderhack.events.UserChangedEvent;
+import com.takehome.coderhack.exceptions.UserAlreadyExistsException;
+import com.takehome.coderhack.exceptions.UserNotFoundException;
+import com.takehome.coderhack.leaderboard.LeaderboardIndex;
+import com.takehome.coderhack.leaderboard.LeaderboardStats;
+import com.takehome.coderhack.leaderboard.RankedEntry;
+import com.takehome.coderhack.repositories.ReactiveUserRepository;
+import com.takehome.coderhack.services.ReactiveUserServiceImpl;
+import com.takehome.coderhack.services.UserWriteSequencer;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveUserServiceImplTest {
+
+    @Mock
+    private ReactiveUserRepository userRepository;
+
+    @Mock
+    private LeaderboardIndex leaderboardIndex;
+
+    @Mock
+    private LeaderboardStats leaderboardStats;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private UserWriteSequencer writeSequencer = new UserWriteSequencer();
+
+    @InjectMocks
+    private ReactiveUserServiceImpl userService;
+
+    @Test
+    void testRegisterUser_PublishesSavedEvent() {
+        when(userRepository.insert(any(User.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        StepVerifier.create(userService.registerUser(userDTO("user123", "John Doe")))
+                .assertNext(user -> {
+                    assertEquals("user123", user.getUserId());
+                    assertEquals(0, user.getScore());
+                })
+                .verifyComplete();
+
+        UserChangedEvent event = publishedEvent();
+        assertEquals(UserChangedEvent.Type.SAVED, event.getType());
+        assertEquals("user123", event.getUserId());
+    }
+
+    @Test
+    void testRegisterUser_DuplicateIsMappedToAlreadyExists() {
+        when(userRepository.insert(any(User.class))).thenReturn(Mono.error(new DuplicateKeyException("dup")));
+
+        StepVerifier.create(userService.registerUser(userDTO("user123", "John Doe")))
+                .expectError(UserAlreadyExistsException.class)
+                .verify();
+
+        verify(eventPublisher, never()).publishEvent(any(UserChangedEvent.class));
+    }
+
+    @Test
+    void testRegisterUsers_ReportsInvalidAndDuplicateItems() {
+        when(userRepository.insertAllSkippingDuplicates(anyList())).thenReturn(Mono.just(Set.of("taken")));
+
+        List<UserDTO> users = List.of(
+                userDTO("user123", "John Doe"),
+                userDTO("", "Nobody"),
+                userDTO("user123", "John Again"),
+                userDTO("taken", "Jane Doe"));
+
+        StepVerifier.create(userService.registerUsers(users))
+                .assertNext(result -> {
+                    assertEquals(1, result.getSucceeded());
+                    assertEquals(3, result.getFailed());
+                    assertEquals(BulkItemStatus.INVALID, result.getFailures().get(0).getStatus());
+                    assertEquals(BulkItemStatus.CONFLICT, result.getFailures().get(1).getStatus());
+                    assertEquals("taken", result.getFailures().get(2).getUserId());
+                })
+                .verifyComplete();
+
+        assertEquals("user123", publishedEvent().getUserId());
+    }
+
+    @Test
+    void testGetAllUsers_PassesFieldsToRepository() {
+        Set<String> fields = Set.of("userId", "score");
+        LeaderboardEntry entry = new LeaderboardEntry("user123", null, 40, null);
+        when(userRepository.findLeaderboardEntries(isNull(), anyInt(), eq(fields))).thenReturn(Flux.just(entry));
+
+        StepVerifier.create(userService.getAllUsers(fields))
+                .expectNext(entry)
+                .verifyComplete();
+    }
+
+    @Test
+    void testGetLeaderboardPage_FetchesOneExtraRowForTheCursor() {
+        LeaderboardCursor after = new LeaderboardCursor(90, "user456");
+        when(userRepository.findLeaderboardEntries(after, 2, LeaderboardEntry.FIELDS)).thenReturn(Flux.just(
+                new LeaderboardEntry("user123", "John Doe", 40, null),
+                new LeaderboardEntry("user789", "Jim Doe", 10, null)));
+
+        StepVerifier.create(userService.getLeaderboardPage(90, "user456", 1, LeaderboardEntry.FIELDS))
+                .assertNext(page -> {
+                    assertEquals(1, page.getUsers().size());
+                    assertEquals("user123", page.getNextCursor().getUserId());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void testGetUserById_NotFoundIsEmpty() {
+        when(userRepository.findById("missing")).thenReturn(Mono.empty());
+
+        StepVerifier.create(userService.getUserById("missing"))
+                .verifyComplete();
+    }
+
+    @Test
+    void testGetTopUsers_FollowsIndexOrder() {
+        User first = new User("user456", "Jane Doe");
+        first.setScore(90);
+        User second = new User("user123", "John Doe");
+        second.setScore(40);
+        when(leaderboardIndex.top(2)).thenReturn(List.of(first, second));
+
+        StepVerifier.create(userService.getTopUsers(2))
+                .expectNext(first, second)
+                .verifyComplete();
+    }
+
+    @Test
+    void testGetUserRank() {
+        when(leaderboardIndex.get("user123")).thenReturn(new RankedEntry("user123", "John Doe", 40, 0, 2));
+        when(leaderboardIndex.size()).thenReturn(5);
+
+        StepVerifier.create(userService.getUserRank("user123"))
+                .assertNext(rank -> {
+                    assertEquals(40, rank.getScore());
+                    assertEquals(2, rank.getRank());
+                    assertEquals(5, rank.getTotalUsers());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void testGetUserRank_NotFoundIsEmpty() {
+        when(leaderboardIndex.get("missing")).thenReturn(null);
+
+        StepVerifier.create(userService.getUserRank("missing"))
+                .verifyComplete();
+    }
+
+    @Test
+    void testGetRankWindow() {
+        RankedEntry above = new RankedEntry("user456", "Jane Doe", 90, 0, 1);
+        RankedEntry self = new RankedEntry("user123", "John Doe", 40, 0, 2);
+        when(leaderboardIndex.around("user123", 1)).thenReturn(List.of(above, self));
+        when(leaderboardIndex.size()).thenReturn(2);
+
+        StepVerifier.create(userService.getRankWindow("user123", 1))
+                .assertNext(window -> {
+                    assertEquals(self, window.getUser());
+                    assertEquals(List.of(above), window.getAbove());
+                    assertTrue(window.getBelow().isEmpty());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void testGetRankWindow_NotFoundIsEmpty() {
+        when(leaderboardIndex.around("missing", 1)).thenReturn(List.of());
+
+        StepVerifier.create(userService.getRankWindow("missing", 1))
+                .verifyComplete();
+    }
+
+    @Test
+    void testUpdateUserScore_PublishesSavedEvent() {
+        User updated = new User("user123", "John Doe");
+        updated.setScore(70);
+        when(userRepository.updateScore("user123", 70)).thenReturn(Mono.just(updated));
+
+        StepVerifier.create(userService.updateUserScore("user123", 70))
+                .expectNext(updated)
+                .verifyComplete();
+
+        UserChangedEvent event = publishedEvent();
+        assertEquals(UserChangedEvent.Type.SAVED, event.getType());
+        assertEquals(70, event.getScore());
+    }
+
+    @Test
+    void testUpdateUserScore_UserNotFound() {
+        when(userRepository.updateScore("missing", 70)).thenReturn(Mono.empty());
+
+        StepVerifier.create(userService.updateUserScore("missing", 70))
+                .expectError(UserNotFoundException.class)
+                .verify();
+
+        verify(eventPublisher, never()).publishEvent(any(UserChangedEvent.class));
+    }
+
+    @Test
+    void testBulkUpdateScores_ReportsInvalidAndMissingUsers() {
+        when(userRepository.findExistingIds(anyCollection())).thenReturn(Flux.just("user123"));
+        when(userRepository.updateScores(Map.of("user123", 70)))
+                .thenReturn(Flux.just(new User("user123", "John Doe", 70, Badge.forScore(70))));
+
+        Flux<ScoreUpdateDTO> updates = Flux.just(
+                new ScoreUpdateDTO("user123", 70),
+                new ScoreUpdateDTO("user123", 500),
+                new ScoreUpdateDTO("ghost", 50));
+
+        StepVerifier.create(userService.bulkUpdateScores(updates))
+                .assertNext(result -> {
+                    assertEquals(1, result.getSucceeded());
+                    assertEquals(2, result.getFailed());
+                    assertEquals(BulkItemStatus.INVALID, result.getFailures().get(0).getStatus());
+                    assertEquals(BulkItemStatus.NOT_FOUND, result.getFailures().get(1).getStatus());
+                })
+                .verifyComplete();
+
+        UserChangedEvent event = publishedEvent();
+        assertEquals("user123", event.getUserId());
+        assertEquals("John Doe", event.getUsername());
+        assertEquals(70, event.getScore());
+    }
+
+    @Test
+    void testBulkUpdateScores_UserDeletedBeforeWriteIsNotFound() {
+        when(userRepository.findExistingIds(anyCollection())).thenReturn(Flux.just("user123"));
+        when(userRepository.updateScores(Map.of("user123", 70))).thenReturn(Flux.empty());
+
+        StepVerifier.create(userService.bulkUpdateScores(Flux.just(new ScoreUpdateDTO("user123", 70))))
+                .assertNext(result -> {
+                    assertEquals(0, result.getSucceeded());
+                    assertEquals(BulkItemStatus.NOT_FOUND, result.getFailures().get(0).getStatus());
+                })
+                .verifyComplete();
+
+        verify(eventPublisher, never()).publishEvent(any(UserChangedEvent.class));
+    }
+
+    @Test
+    void testDeleteUser_PublishesDeletedEvent() {
+        when(userRepository.deleteById("user123")).thenReturn(Mono.empty());
+
+        StepVerifier.create(userService.deleteUser("user123"))
+                .verifyComplete();
+
+        UserChangedEvent event = publishedEvent();
+        assertEquals(UserChangedEvent.Type.DELETED, event.getType());
+        assertEquals("user123", event.getUserId());
+    }
+
+    @Test
+    void testDeleteUser_NothingPublishedUntilSubscribed() {
+        userService.deleteUser("user123");
+
+        verify(userRepository, never()).deleteById(anyString());
+        verify(eventPublisher, never()).publishEvent(any(UserChangedEvent.class));
+    }
+
+    private UserChangedEvent publishedEvent() {
+        ArgumentCaptor<UserChangedEvent> captor = ArgumentCaptor.forClass(UserChangedEvent.class);
+        verify(eventPublisher).publishEvent(captor.capture());
+        return captor.getValue();
+    }
+
+    private static UserDTO userDTO(String userId, String username) {
+        UserDTO userDTO = new UserDTO();
+        userDTO.setUserId(userId);
+        userDTO.setUsername(username);
+        return userDTO;
+    }
+}
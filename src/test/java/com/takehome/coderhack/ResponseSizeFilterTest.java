@@ -0,0 +1,45 @@
+package com.takehome.coderhack;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.takehome.coderhack.metrics.ResponseSizeFilter;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+class ResponseSizeFilterTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ResponseSizeFilter filter = new ResponseSizeFilter(registry, "/users");
+
+    private final HttpServlet servlet = new HttpServlet() {
+        @Override
+        protected void service(HttpServletRequest req, HttpServletResponse resp) throws java.io.IOException {
+            resp.getOutputStream().write("[{\"userId\":\"user123\"}]".getBytes());
+        }
+    };
+
+    @Test
+    void testRecordsGetResponseSize() throws Exception {
+        filter.doFilter(new MockHttpServletRequest("GET", "/users"), new MockHttpServletResponse(), new MockFilterChain(servlet));
+
+        DistributionSummary summary = registry.get("coderhack.http.response.size").summary();
+        assertEquals(1, summary.count());
+        assertEquals(22, summary.totalAmount());
+    }
+
+    @Test
+    void testIgnoresOtherMethods() throws Exception {
+        filter.doFilter(new MockHttpServletRequest("POST", "/users"), new MockHttpServletResponse(), new MockFilterChain(servlet));
+
+        assertEquals(0, registry.get("coderhack.http.response.size").summary().count());
+    }
+}
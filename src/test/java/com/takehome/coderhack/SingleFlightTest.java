@@ -0,0 +1,136 @@
+package com.takehome.coderhack;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.takehome.coderhack.services.SingleFlight;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class SingleFlightTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+    private SingleFlight<String, String> singleFlight;
+
+    @BeforeEach
+    void setUp() {
+        // SingleFlight counts on the global registry, which has no backing registry in a plain unit test
+        Metrics.addRegistry(registry);
+        singleFlight = new SingleFlight<>("test");
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        Metrics.removeRegistry(registry);
+    }
+
+    @Test
+    void testConcurrentCallsShareOneLoad() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+
+        Future<String> leader = executor.submit(() -> singleFlight.execute("user123", () -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            await(release);
+            return "John Doe";
+        }));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        Future<String> follower = executor.submit(() -> singleFlight.execute("user123", () -> {
+            loads.incrementAndGet();
+            return "stale";
+        }));
+        // The follower counts itself as coalesced once it holds the leader's call, so it cannot miss it
+        awaitCoalesced(1);
+        release.countDown();
+
+        assertEquals("John Doe", leader.get(5, TimeUnit.SECONDS));
+        assertEquals("John Doe", follower.get(5, TimeUnit.SECONDS));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testCompletedCallsAreNotReused() {
+        AtomicInteger loads = new AtomicInteger();
+
+        singleFlight.execute("user123", () -> "v" + loads.incrementAndGet());
+
+        assertEquals("v2", singleFlight.execute("user123", () -> "v" + loads.incrementAndGet()));
+    }
+
+    @Test
+    void testLoaderExceptionReachesCaller() {
+        assertThrows(IllegalStateException.class, () -> singleFlight.execute("user123", () -> {
+            throw new IllegalStateException("Mongo unavailable");
+        }));
+        assertEquals("recovered", singleFlight.execute("user123", () -> "recovered"));
+    }
+
+    @Test
+    void testForgetStartsFreshLoad() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<String> before = executor.submit(() -> singleFlight.execute("user123", () -> {
+            loading.countDown();
+            await(release);
+            return "old";
+        }));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        singleFlight.forget("user123");
+
+        assertEquals("new", singleFlight.execute("user123", () -> "new"));
+        release.countDown();
+        assertEquals("old", before.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testForgetAllStartsFreshLoads() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<String> before = executor.submit(() -> singleFlight.execute("listing", () -> {
+            loading.countDown();
+            await(release);
+            return "old";
+        }));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        singleFlight.forgetAll();
+
+        assertEquals("new", singleFlight.execute("listing", () -> "new"));
+        release.countDown();
+        assertEquals("old", before.get(5, TimeUnit.SECONDS));
+    }
+
+    private void awaitCoalesced(double count) throws InterruptedException {
+        Counter coalesced = registry.counter("coderhack.singleflight.coalesced", "operation", "test");
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (coalesced.count() < count) {
+            assertTrue(System.nanoTime() < deadline, "The follower never joined the running call");
+            Thread.sleep(1);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.takehome.coderhack;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.takehome.coderhack.cache.UserCacheSynchronizer;
+import com.takehome.coderhack.config.CacheConfig;
+import com.takehome.coderhack.entities.User;
+import com.takehome.coderhack.events.UserChangedEvent;
+
+class UserCacheSynchronizerTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    private UserCacheSynchronizer synchronizer;
+    private Cache cache;
+
+    @BeforeEach
+    void setUp() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(CacheConfig.USERS_CACHE);
+        cache = cacheManager.getCache(CacheConfig.USERS_CACHE);
+        synchronizer = new UserCacheSynchronizer();
+        ReflectionTestUtils.setField(synchronizer, "cacheManager", cacheManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testSavedEvictsInsteadOfPutting() {
+        cache.put("user123", user(10));
+
+        synchronizer.onUserChanged(UserChangedEvent.saved(user(45)));
+
+        assertNull(cache.get("user123"));
+    }
+
+    @Test
+    void testOutOfOrderSavesLeaveNothingStale() {
+        synchronizer.onUserChanged(UserChangedEvent.saved(user(70)));
+        synchronizer.onUserChanged(UserChangedEvent.saved(user(45)));
+
+        assertNull(cache.get("user123"));
+    }
+
+    @Test
+    void testDeletedEvicts() {
+        cache.put("user123", user(10));
+
+        synchronizer.onUserChanged(UserChangedEvent.deleted("user123"));
+
+        assertNull(cache.get("user123"));
+    }
+
+    @Test
+    void testLoadStartedBeforeWriteIsNotLeftCached() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<User> load = executor.submit(() -> cache.get("user123", () -> {
+            loading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return user(10);
+        }));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        Future<?> write = executor.submit(() -> synchronizer.onUserChanged(UserChangedEvent.saved(user(45))));
+
+        // The eviction waits for the running load instead of racing ahead of it
+        Thread.sleep(100);
+        assertFalse(write.isDone());
+        release.countDown();
+
+        assertEquals(10, load.get(5, TimeUnit.SECONDS).getScore());
+        write.get(5, TimeUnit.SECONDS);
+        assertNull(cache.get("user123"));
+    }
+
+    private static User user(int score) {
+        User user = new User("user123", "John Doe");
+        user.setScore(score);
+        return user;
+    }
+}
@@ -0,0 +1,111 @@
+package com.takehome.coderhack;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.OperationType;
+import com.takehome.coderhack.entities.Badge;
+import com.takehome.coderhack.events.UserChangedEvent;
+import com.takehome.coderhack.repositories.UserStore;
+import com.takehome.coderhack.services.ScoreWriteBuffer;
+import com.takehome.coderhack.sync.UserChangeMapper;
+
+class UserChangeMapperTest {
+
+    private UserChangeMapper mapper;
+    private ScoreWriteBuffer scoreWriteBuffer;
+    private UserStore userRepository;
+
+    @BeforeEach
+    void setUp() {
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, new MongoMappingContext());
+        converter.afterPropertiesSet();
+        userRepository = mock(UserStore.class);
+        scoreWriteBuffer = new ScoreWriteBuffer();
+        ReflectionTestUtils.setField(scoreWriteBuffer, "userRepository", userRepository);
+        mapper = new UserChangeMapper(converter, scoreWriteBuffer);
+    }
+
+    @Test
+    void testUpdateBecomesSavedEvent() {
+        Document user = new Document("_id", "user123").append("username", "John Doe").append("score", 45)
+                .append("badges", List.of("CODE_CHAMP"));
+
+        Optional<UserChangedEvent> event = mapper.toEvent(change(OperationType.UPDATE, user, "user123"));
+
+        assertEquals(UserChangedEvent.Type.SAVED, event.get().getType());
+        assertEquals("user123", event.get().getUserId());
+        assertEquals("John Doe", event.get().getUsername());
+        assertEquals(45, event.get().getScore());
+        assertTrue(event.get().isRemote());
+    }
+
+    @Test
+    void testEchoOfOlderFlushKeepsBufferedScore() {
+        scoreWriteBuffer.put("user123", 50);
+        // A newer score arrives while the flush carrying 50 is being written
+        doAnswer(invocation -> {
+            scoreWriteBuffer.put("user123", 70);
+            return 1;
+        }).when(userRepository).bulkUpdateScores(Map.of("user123", 50));
+        scoreWriteBuffer.flush();
+
+        UserChangedEvent echo = mapper.toEvent(change(OperationType.UPDATE, userDocument(50), "user123")).get();
+
+        assertEquals(70, echo.getScore());
+        assertEquals(70, scoreWriteBuffer.pendingScore("user123"));
+
+        scoreWriteBuffer.flush();
+        verify(userRepository).bulkUpdateScores(Map.of("user123", 70));
+        assertNull(scoreWriteBuffer.pendingScore("user123"));
+        assertEquals(70, mapper.toEvent(change(OperationType.UPDATE, userDocument(70), "user123")).get().getScore());
+    }
+
+    @Test
+    void testUpdateWithoutFullDocumentIsSkipped() {
+        assertTrue(mapper.toEvent(change(OperationType.UPDATE, null, "user123")).isEmpty());
+    }
+
+    @Test
+    void testDeleteUsesDocumentKey() {
+        Optional<UserChangedEvent> event = mapper.toEvent(change(OperationType.DELETE, null, "user123"));
+
+        assertEquals(UserChangedEvent.Type.DELETED, event.get().getType());
+        assertEquals("user123", event.get().getUserId());
+    }
+
+    @Test
+    void testInvalidateIsSkipped() {
+        assertTrue(mapper.toEvent(change(OperationType.INVALIDATE, null, null)).isEmpty());
+    }
+
+    private static Document userDocument(int score) {
+        return new Document("_id", "user123").append("username", "John Doe").append("score", score)
+                .append("badges", List.of(Badge.forScore(score).iterator().next().name()));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ChangeStreamDocument<Document> change(OperationType type, Document fullDocument, String userId) {
+        ChangeStreamDocument<Document> change = mock(ChangeStreamDocument.class);
+        when(change.getOperationType()).thenReturn(type);
+        lenient().when(change.getFullDocument()).thenReturn(fullDocument);
+        lenient().when(change.getDocumentKey())
+                .thenReturn(userId == null ? null : new BsonDocument("_id", new BsonString(userId)));
+        return change;
+    }
+}
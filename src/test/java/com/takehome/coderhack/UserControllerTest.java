@@ -6,25 +6,38 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.takehome.coderhack.controllers.UserController;
+import com.takehome.coderhack.dtos.BulkResult;
+import com.takehome.coderhack.dtos.LeaderboardEntry;
+import com.takehome.coderhack.dtos.RankWindowDTO;
+import com.takehome.coderhack.dtos.ScoreUpdateDTO;
 import com.takehome.coderhack.dtos.UserDTO;
+import com.takehome.coderhack.entities.Badge;
 import com.takehome.coderhack.entities.User;
 import com.takehome.coderhack.exceptions.GlobalExceptionHandler;
 import com.takehome.coderhack.exceptions.UserAlreadyExistsException;
+import com.takehome.coderhack.leaderboard.RankedEntry;
 import com.takehome.coderhack.services.UserService;
 
 @ExtendWith(MockitoExtension.class)
@@ -39,7 +52,7 @@ class UserControllerTest {
     @InjectMocks
     private UserController userController;
 
-    @Autowired
+    @Spy
     private ObjectMapper objectMapper = new ObjectMapper();
     
 
@@ -56,14 +69,74 @@ class UserControllerTest {
         user.setUserId("user123");
         user.setUsername("John Doe");
 
-        when(userService.getAllUsers()).thenReturn(Arrays.asList(user));
+        when(userService.getAllUsers(LeaderboardEntry.FIELDS)).thenReturn(Arrays.asList(LeaderboardEntry.of(user)));
 
         mockMvc.perform(get("/users"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].userId").value("user123"))
                 .andExpect(jsonPath("$[0].username").value("John Doe"));
 
-        verify(userService, times(1)).getAllUsers();
+        verify(userService, times(1)).getAllUsers(LeaderboardEntry.FIELDS);
+    }
+
+    @Test
+    void testGetAllUsers_SelectedFieldsAlwaysIncludeIdAndScore() throws Exception {
+        when(userService.getAllUsers(Set.of("userId", "score", "badges")))
+                .thenReturn(Arrays.asList(new LeaderboardEntry("user123", null, 0, EnumSet.noneOf(Badge.class))));
+
+        mockMvc.perform(get("/users").param("fields", "badges"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].userId").value("user123"))
+                .andExpect(jsonPath("$[0].username").doesNotExist());
+    }
+
+    @Test
+    void testGetAllUsers_RejectsUnknownField() throws Exception {
+        mockMvc.perform(get("/users").param("fields", "password"))
+                .andExpect(status().isBadRequest());
+
+        verify(userService, never()).getAllUsers(any());
+    }
+
+    @Test
+    void testExportUsers_WritesNdjson() throws Exception {
+        User first = new User("user123", "John Doe");
+        first.setScore(90);
+        User second = new User("user456", "Jane Doe");
+        second.setScore(40);
+
+        when(userService.streamAllUsers()).thenReturn(Stream.of(first, second));
+
+        MvcResult result = mockMvc.perform(get("/users/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(
+                        objectMapper.writeValueAsString(first) + "\n" + objectMapper.writeValueAsString(second) + "\n"));
+    }
+
+    @Test
+    void testGetLeaderboardPage_RejectsOversizedPage() throws Exception {
+        mockMvc.perform(get("/users/leaderboard").param("size", "1000"))
+                .andExpect(status().isBadRequest());
+
+        verify(userService, never()).getLeaderboardPage(any(), any(), anyInt(), any());
+    }
+
+    @Test
+    void testGetTopUsers() throws Exception {
+        User user = new User("user123", "John Doe");
+        user.setScore(90);
+
+        when(userService.getTopUsers(1)).thenReturn(Arrays.asList(user));
+
+        mockMvc.perform(get("/users/top").param("n", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].userId").value("user123"))
+                .andExpect(jsonPath("$[0].score").value(90));
     }
 
     @Test
@@ -124,6 +197,64 @@ class UserControllerTest {
         verify(userService, times(1)).updateUserScore("user123", 45);
     }
 
+    @Test
+    void testUpdateUserScore_WithRankReturnsWindow() throws Exception {
+        RankedEntry above = new RankedEntry("user001", "Ahead", 50, Badge.CODE_CHAMP.mask(), 1);
+        RankedEntry self = new RankedEntry("user123", "John Doe", 45, Badge.CODE_CHAMP.mask(), 2);
+        when(userService.getRankWindow("user123", 1))
+                .thenReturn(Optional.of(new RankWindowDTO(self, 2, List.of(above), List.of())));
+
+        mockMvc.perform(put("/users/{userId}", "user123")
+                .param("score", "45")
+                .param("withRank", "true")
+                .param("k", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.user.rank").value(2))
+                .andExpect(jsonPath("$.above[0].userId").value("user001"))
+                .andExpect(jsonPath("$.below").isEmpty());
+
+        verify(userService, times(1)).updateUserScore("user123", 45);
+    }
+
+
+    @Test
+    void testBulkUpdateScores_Json() throws Exception {
+        BulkResult result = new BulkResult();
+        result.recordSuccesses(2);
+
+        when(userService.bulkUpdateScores(any())).thenReturn(result);
+
+        mockMvc.perform(post("/users/scores/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"userId\":\"user123\",\"score\":45},{\"userId\":\"user456\",\"score\":90}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded").value(2))
+                .andExpect(jsonPath("$.failed").value(0));
+    }
+
+    @Test
+    void testBulkUpdateScores_NdjsonReportsUnparseableLines() throws Exception {
+        when(userService.bulkUpdateScores(any())).thenAnswer(invocation -> {
+            Iterator<ScoreUpdateDTO> updates = invocation.getArgument(0);
+            BulkResult result = new BulkResult();
+            updates.forEachRemaining(update -> result.recordSuccesses(1));
+            return result;
+        });
+
+        mockMvc.perform(post("/users/scores/bulk")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content("{\"userId\":\"user123\",\"score\":45}\n"
+                        + "not json\n"
+                        + "{\"userId\":\"user456\",\"score\":\"high\"}\n"
+                        + "\n"
+                        + "{\"userId\":\"user789\",\"score\":90}\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded").value(2))
+                .andExpect(jsonPath("$.failed").value(2))
+                .andExpect(jsonPath("$.failures[0].status").value("INVALID"))
+                .andExpect(jsonPath("$.failures[0].message").value("Line 2 is not a valid score update"))
+                .andExpect(jsonPath("$.failures[1].userId").value("user456"));
+    }
 
     @Test
     void testDeleteUser_Success() throws Exception {
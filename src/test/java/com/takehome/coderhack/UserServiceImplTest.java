@@ -7,28 +7,58 @@ import static org.mockito.Mockito.*;
 import java.util.Arrays;
 import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+
+import com.takehome.coderhack.dtos.BulkItemStatus;
+import com.takehome.coderhack.dtos.BulkResult;
+import com.takehome.coderhack.dtos.LeaderboardCursor;
+import com.takehome.coderhack.dtos.LeaderboardEntry;
+import com.takehome.coderhack.dtos.LeaderboardPage;
+import com.takehome.coderhack.dtos.ScoreUpdateDTO;
 import com.takehome.coderhack.dtos.UserDTO;
+import com.takehome.coderhack.dtos.UserRankDTO;
 import com.takehome.coderhack.entities.Badge;
 import com.takehome.coderhack.entities.User;
+import com.takehome.coderhack.events.UserChangedEvent;
 import com.takehome.coderhack.exceptions.UserAlreadyExistsException;
 import com.takehome.coderhack.exceptions.UserNotFoundException;
-import com.takehome.coderhack.repositories.UserRepository;
+import com.takehome.coderhack.leaderboard.LeaderboardIndex;
+import com.takehome.coderhack.leaderboard.RankedEntry;
+import com.takehome.coderhack.repositories.UserStore;
+import com.takehome.coderhack.services.ScoreWriteBuffer;
 import com.takehome.coderhack.services.UserServiceImpl;
+import com.takehome.coderhack.services.UserWriteSequencer;
 
 @ExtendWith(MockitoExtension.class)
 class UserServiceImplTest {
 
     @Mock
-    private UserRepository userRepository;
+    private UserStore userRepository;
+
+    @Mock
+    private LeaderboardIndex leaderboardIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ScoreWriteBuffer scoreWriteBuffer;
+
+    @Spy
+    private UserWriteSequencer writeSequencer = new UserWriteSequencer();
 
     @InjectMocks
     private UserServiceImpl userService;
@@ -51,13 +81,40 @@ class UserServiceImplTest {
 
     @Test
     void testGetAllUsers() {
-        List<User> users = Arrays.asList(user);
-        when(userRepository.findAllByOrderByScoreDesc()).thenReturn(users);
+        List<LeaderboardEntry> users = Arrays.asList(LeaderboardEntry.of(user));
+        when(userRepository.findLeaderboardEntries(isNull(), anyInt(), eq(LeaderboardEntry.FIELDS))).thenReturn(users);
 
-        List<User> result = userService.getAllUsers();
+        List<LeaderboardEntry> result = userService.getAllUsers(LeaderboardEntry.FIELDS);
 
         assertEquals(users.size(), result.size());
-        verify(userRepository, times(1)).findAllByOrderByScoreDesc();
+        verify(userRepository, times(1)).findLeaderboardEntries(isNull(), anyInt(), eq(LeaderboardEntry.FIELDS));
+    }
+
+    @Test
+    void testGetLeaderboardPage_ReturnsCursorWhenMoreRowsExist() {
+        LeaderboardEntry second = new LeaderboardEntry("user456", null, 40, null);
+        LeaderboardEntry third = new LeaderboardEntry("user789", null, 40, null);
+        Set<String> fields = Set.of("userId", "score");
+        when(userRepository.findLeaderboardEntries(new LeaderboardCursor(50, "user001"), 2, fields))
+                .thenReturn(Arrays.asList(second, third));
+
+        LeaderboardPage page = userService.getLeaderboardPage(50, "user001", 1, fields);
+
+        assertEquals(1, page.getUsers().size());
+        assertEquals("user456", page.getUsers().get(0).getUserId());
+        assertEquals(40, page.getNextCursor().getScore());
+        assertEquals("user456", page.getNextCursor().getUserId());
+    }
+
+    @Test
+    void testGetLeaderboardPage_LastPageHasNoCursor() {
+        when(userRepository.findLeaderboardEntries(null, 21, LeaderboardEntry.FIELDS))
+                .thenReturn(Arrays.asList(LeaderboardEntry.of(user)));
+
+        LeaderboardPage page = userService.getLeaderboardPage(null, null, 20, LeaderboardEntry.FIELDS);
+
+        assertEquals(1, page.getUsers().size());
+        assertNull(page.getNextCursor());
     }
 
     @Test
@@ -71,6 +128,17 @@ class UserServiceImplTest {
         verify(userRepository, times(1)).findById("user123");
     }
 
+    @Test
+    void testGetUserById_SeesBufferedScore() {
+        when(userRepository.findById("user123")).thenReturn(Optional.of(user));
+        when(scoreWriteBuffer.pendingScore("user123")).thenReturn(70);
+
+        Optional<User> result = userService.getUserById("user123");
+
+        assertEquals(70, result.get().getScore());
+        assertEquals(EnumSet.of(Badge.CODE_MASTER), result.get().getBadges());
+    }
+
     @Test
     void testGetUserById_UserNotExists() {
         when(userRepository.findById("user123")).thenReturn(Optional.empty());
@@ -83,47 +151,145 @@ class UserServiceImplTest {
 
     @Test
     void testRegisterUser_Success() {
-        when(userRepository.existsById("user123")).thenReturn(false);
-        when(userRepository.save(any(User.class))).thenReturn(user);
+        when(userRepository.insert(any(User.class))).thenReturn(user);
 
         User result = userService.registerUser(userDTO);
 
         assertEquals(user.getUserId(), result.getUserId());
         assertEquals(0, result.getScore());
         assertEquals(EnumSet.noneOf(Badge.class), result.getBadges());
-        verify(userRepository, times(1)).existsById("user123");
-        verify(userRepository, times(1)).save(any(User.class));
+        verify(userRepository, never()).findById(anyString());
+        verify(userRepository, times(1)).insert(any(User.class));
     }
 
     @Test
     void testRegisterUser_UserAlreadyExists() {
-        when(userRepository.existsById("user123")).thenReturn(true);
+        when(userRepository.insert(any(User.class))).thenThrow(new DuplicateKeyException("E11000 duplicate key"));
 
         assertThrows(UserAlreadyExistsException.class, () -> userService.registerUser(userDTO));
-        verify(userRepository, times(1)).existsById("user123");
-        verify(userRepository, never()).save(any(User.class));
+        verify(userRepository, times(1)).insert(any(User.class));
+        verify(eventPublisher, never()).publishEvent(any(UserChangedEvent.class));
+    }
+
+    @Test
+    void testRegisterUsers_ReportsConflicts() {
+        UserDTO duplicateInRequest = new UserDTO();
+        duplicateInRequest.setUserId("user123");
+        duplicateInRequest.setUsername("John Again");
+        UserDTO taken = new UserDTO();
+        taken.setUserId("taken");
+        taken.setUsername("Someone");
+        when(userRepository.insertAllSkippingDuplicates(anyList())).thenReturn(Set.of("taken"));
+
+        BulkResult result = userService.registerUsers(Arrays.asList(userDTO, duplicateInRequest, taken));
+
+        assertEquals(1, result.getSucceeded());
+        assertEquals(2, result.getFailed());
+        assertTrue(result.getFailures().stream().allMatch(f -> f.getStatus() == BulkItemStatus.CONFLICT));
+        verify(eventPublisher, times(1)).publishEvent(any(UserChangedEvent.class));
     }
 
     @Test
     void testUpdateUserScore_Success() {
-        when(userRepository.findById("user123")).thenReturn(Optional.of(user));
-        when(userRepository.save(any(User.class))).thenReturn(user);
+        User updated = new User("user123", "John Doe", 45, EnumSet.of(Badge.CODE_CHAMP));
+        when(userRepository.updateScore("user123", 45)).thenReturn(Optional.of(updated));
 
         User result = userService.updateUserScore("user123", 45);
 
         assertEquals(45, result.getScore());
         assertTrue(result.getBadges().contains(Badge.CODE_CHAMP));
-        verify(userRepository, times(1)).findById("user123");
-        verify(userRepository, times(1)).save(user);
+        verify(userRepository, times(1)).updateScore("user123", 45);
+        verify(userRepository, never()).findById(anyString());
+        verify(userRepository, never()).bulkUpdateScores(anyMap());
+        verify(eventPublisher, times(1)).publishEvent(any(UserChangedEvent.class));
     }
 
     @Test
     void testUpdateUserScore_UserNotFound() {
-        when(userRepository.findById("user123")).thenReturn(Optional.empty());
+        when(userRepository.updateScore("user123", 45)).thenReturn(Optional.empty());
 
         assertThrows(UserNotFoundException.class, () -> userService.updateUserScore("user123", 45));
-        verify(userRepository, times(1)).findById("user123");
-        verify(userRepository, never()).save(any(User.class));
+        verify(userRepository, times(1)).updateScore("user123", 45);
+        verify(eventPublisher, never()).publishEvent(any(UserChangedEvent.class));
+    }
+
+    @Test
+    void testUpdateUserScore_WriteBehind() {
+        when(scoreWriteBuffer.isEnabled()).thenReturn(true);
+        when(leaderboardIndex.get("user123")).thenReturn(new RankedEntry("user123", "John Doe", 10, Badge.CODE_NINJA.mask(), 1));
+
+        User result = userService.updateUserScore("user123", 45);
+
+        assertEquals("John Doe", result.getUsername());
+        assertEquals(45, result.getScore());
+        verify(scoreWriteBuffer, times(1)).put("user123", 45);
+        verify(userRepository, never()).updateScore(anyString(), anyInt());
+        verify(eventPublisher, times(1)).publishEvent(any(UserChangedEvent.class));
+    }
+
+    @Test
+    void testBulkUpdateScores_ReportsInvalidAndMissingUsers() {
+        List<ScoreUpdateDTO> updates = Arrays.asList(
+                new ScoreUpdateDTO("user123", 10),
+                new ScoreUpdateDTO("user123", 70),
+                new ScoreUpdateDTO("ghost", 50),
+                new ScoreUpdateDTO("user456", 101));
+        when(userRepository.findExistingIds(anyCollection())).thenReturn(Set.of("user123"));
+        when(userRepository.updateScores(Map.of("user123", 70)))
+                .thenReturn(List.of(new User("user123", "John Doe", 70, Badge.forScore(70))));
+
+        BulkResult result = userService.bulkUpdateScores(updates.iterator());
+
+        assertEquals(1, result.getSucceeded());
+        assertEquals(2, result.getFailed());
+        assertEquals(BulkItemStatus.INVALID, result.getFailures().get(0).getStatus());
+        assertEquals(BulkItemStatus.NOT_FOUND, result.getFailures().get(1).getStatus());
+
+        ArgumentCaptor<UserChangedEvent> event = ArgumentCaptor.forClass(UserChangedEvent.class);
+        verify(eventPublisher, times(1)).publishEvent(event.capture());
+        assertEquals("user123", event.getValue().getUserId());
+        assertEquals("John Doe", event.getValue().getUsername());
+        assertEquals(70, event.getValue().getScore());
+    }
+
+    @Test
+    void testBulkUpdateScores_UserDeletedBeforeWriteIsNotFound() {
+        when(userRepository.findExistingIds(anyCollection())).thenReturn(Set.of("user123"));
+        when(userRepository.updateScores(Map.of("user123", 70))).thenReturn(List.of());
+
+        BulkResult result = userService.bulkUpdateScores(List.of(new ScoreUpdateDTO("user123", 70)).iterator());
+
+        assertEquals(0, result.getSucceeded());
+        assertEquals(BulkItemStatus.NOT_FOUND, result.getFailures().get(0).getStatus());
+        verify(eventPublisher, never()).publishEvent(any(UserChangedEvent.class));
+    }
+
+    @Test
+    void testBulkUpdateScores_WriteBehindUsesIndexForExistenceAndUsername() {
+        when(scoreWriteBuffer.isEnabled()).thenReturn(true);
+        when(leaderboardIndex.get("user123")).thenReturn(new RankedEntry("user123", "John Doe", 10, Badge.CODE_NINJA.mask(), 1));
+
+        BulkResult result = userService.bulkUpdateScores(List.of(
+                new ScoreUpdateDTO("user123", 70),
+                new ScoreUpdateDTO("ghost", 50)).iterator());
+
+        assertEquals(1, result.getSucceeded());
+        assertEquals("ghost", result.getFailures().get(0).getUserId());
+        verify(scoreWriteBuffer, times(1)).put("user123", 70);
+        verify(scoreWriteBuffer, never()).put(eq("ghost"), anyInt());
+        verify(userRepository, never()).updateScores(anyMap());
+
+        ArgumentCaptor<UserChangedEvent> event = ArgumentCaptor.forClass(UserChangedEvent.class);
+        verify(eventPublisher, times(1)).publishEvent(event.capture());
+        assertEquals("John Doe", event.getValue().getUsername());
+    }
+
+    @Test
+    void testBadgeForScore() {
+        assertEquals(EnumSet.noneOf(Badge.class), Badge.forScore(0));
+        assertEquals(EnumSet.of(Badge.CODE_NINJA), Badge.forScore(29));
+        assertEquals(EnumSet.of(Badge.CODE_CHAMP), Badge.forScore(30));
+        assertEquals(EnumSet.of(Badge.CODE_MASTER), Badge.forScore(100));
     }
 
     @Test
@@ -133,6 +299,20 @@ class UserServiceImplTest {
         userService.deleteUser("user123");
 
         verify(userRepository, times(1)).deleteById("user123");
+        verify(eventPublisher, times(1)).publishEvent(any(UserChangedEvent.class));
+    }
+
+    @Test
+    void testGetUserRank_UserIndexed() {
+        when(leaderboardIndex.get("user123")).thenReturn(new RankedEntry("user123", "John Doe", 45, Badge.CODE_CHAMP.mask(), 3));
+        when(leaderboardIndex.size()).thenReturn(10);
+
+        Optional<UserRankDTO> result = userService.getUserRank("user123");
+
+        assertTrue(result.isPresent());
+        assertEquals(3, result.get().getRank());
+        assertEquals(10, result.get().getTotalUsers());
+        verify(userRepository, never()).findById(anyString());
     }
 }
 
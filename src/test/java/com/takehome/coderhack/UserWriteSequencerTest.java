@@ -0,0 +1,88 @@
+package com.takehome.coderhack;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.takehome.coderhack.services.UserWriteSequencer;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+class UserWriteSequencerTest {
+
+    private final UserWriteSequencer sequencer = new UserWriteSequencer();
+    private final List<String> order = new CopyOnWriteArrayList<>();
+
+    @Test
+    void testWritesToOneUserRunInArrivalOrder() throws Exception {
+        CompletableFuture<Void> first = new CompletableFuture<>();
+        sequencer.runReactive(List.of("user123"), () -> Mono.fromFuture(first).doOnSuccess(v -> order.add("first")))
+                .subscribe();
+
+        CompletableFuture<Void> second = record(List.of("user123"), "second");
+        assertFalse(second.isDone());
+        assertTrue(order.isEmpty());
+
+        first.complete(null);
+        second.get(5, TimeUnit.SECONDS);
+        assertEquals(List.of("first", "second"), order);
+    }
+
+    @Test
+    void testWritesToOtherUsersDoNotWait() throws Exception {
+        CompletableFuture<Void> first = new CompletableFuture<>();
+        sequencer.runReactive(List.of("user123"), () -> Mono.fromFuture(first)).subscribe();
+
+        record(List.of("user456"), "other").get(5, TimeUnit.SECONDS);
+        assertEquals("blocking", sequencer.run(List.of("user456"), () -> "blocking"));
+        assertEquals(List.of("other"), order);
+    }
+
+    @Test
+    void testBatchWaitsForEachOfItsUsers() throws Exception {
+        CompletableFuture<Void> first = new CompletableFuture<>();
+        sequencer.runReactive(List.of("user456"), () -> Mono.fromFuture(first)).subscribe();
+
+        CompletableFuture<Void> batch = record(List.of("user123", "user456", "user123"), "batch");
+        assertFalse(batch.isDone());
+
+        // Queued behind the batch, even though nothing else touches user123
+        CompletableFuture<Void> single = record(List.of("user123"), "single");
+        assertFalse(single.isDone());
+
+        first.complete(null);
+        single.get(5, TimeUnit.SECONDS);
+        assertEquals(List.of("batch", "single"), order);
+    }
+
+    @Test
+    void testCancelledWriteGivesUpItsTurn() throws Exception {
+        Disposable stuck = sequencer.runReactive(List.of("user123"), () -> Mono.never()).subscribe();
+
+        CompletableFuture<Void> next = record(List.of("user123"), "next");
+        assertFalse(next.isDone());
+
+        stuck.dispose();
+        next.get(5, TimeUnit.SECONDS);
+        assertEquals(List.of("next"), order);
+    }
+
+    @Test
+    void testFailedWriteGivesUpItsTurn() {
+        assertThrows(IllegalStateException.class, () -> sequencer.run(List.of("user123"), () -> {
+            throw new IllegalStateException("write failed");
+        }));
+
+        assertEquals("next", sequencer.run(List.of("user123"), () -> "next"));
+    }
+
+    private CompletableFuture<Void> record(List<String> userIds, String name) {
+        return sequencer.runReactive(userIds, () -> Mono.fromRunnable(() -> order.add(name))).then().toFuture();
+    }
+}
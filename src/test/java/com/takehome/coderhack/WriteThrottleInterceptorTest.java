@@ -0,0 +1,81 @@
+package com.takehome.coderhack;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.takehome.coderhack.exceptions.RateLimitExceededException;
+import com.takehome.coderhack.exceptions.ServiceOverloadedException;
+import com.takehome.coderhack.ratelimit.WriteRateLimiter;
+import com.takehome.coderhack.ratelimit.WriteThrottleInterceptor;
+
+@ExtendWith(MockitoExtension.class)
+class WriteThrottleInterceptorTest {
+
+    @Mock
+    private WriteRateLimiter rateLimiter;
+
+    @InjectMocks
+    private WriteThrottleInterceptor interceptor;
+
+    @Test
+    void testClientHeaderIgnoredUnlessTrusted() {
+        MockHttpServletRequest request = write("user123");
+        request.addHeader("X-Client-Id", "rotating-1");
+
+        assertTrue(interceptor.preHandle(request, new MockHttpServletResponse(), null));
+
+        verify(rateLimiter).acquireForClient("address:127.0.0.1");
+    }
+
+    @Test
+    void testTrustedClientHeaderIsUsed() {
+        ReflectionTestUtils.setField(interceptor, "trustClientHeader", true);
+        MockHttpServletRequest request = write("user123");
+        request.addHeader("X-Client-Id", "gateway-client");
+
+        interceptor.preHandle(request, new MockHttpServletResponse(), null);
+
+        verify(rateLimiter).acquireForClient("header:gateway-client");
+    }
+
+    @Test
+    void testUserRejectionRefundsClientPermit() {
+        when(rateLimiter.acquireForUser("user123")).thenReturn(1_000_000L);
+
+        assertThrows(RateLimitExceededException.class,
+                () -> interceptor.preHandle(write("user123"), new MockHttpServletResponse(), null));
+
+        verify(rateLimiter).refundClient("address:127.0.0.1");
+        verify(rateLimiter, never()).refundUser(anyString());
+    }
+
+    @Test
+    void testOverloadRefundsBothPermits() {
+        ReflectionTestUtils.setField(interceptor, "maxInFlightWrites", 0);
+
+        assertThrows(ServiceOverloadedException.class,
+                () -> interceptor.preHandle(write("user123"), new MockHttpServletResponse(), null));
+
+        verify(rateLimiter).refundClient("address:127.0.0.1");
+        verify(rateLimiter).refundUser("user123");
+    }
+
+    private static MockHttpServletRequest write(String userId) {
+        MockHttpServletRequest request = new MockHttpServletRequest("PUT", "/users/" + userId);
+        request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, Map.of("userId", userId));
+        return request;
+    }
+}